@@ -24,7 +24,7 @@ public enum League {
         @Override
         public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) { return whitePlayer; }
         @Override
-        public boolean isPawnPromotionSquare(final int position) { return BoardUtils.FIRST_ROW.get(position); }
+        public boolean isPawnPromotionSquare(final int position) { return BoardUtils.isOnSquares(BoardUtils.FIRST_ROW, position); }
     },
     BLACK {
         @Override
@@ -45,7 +45,7 @@ public enum League {
         }
         @Override
         public boolean isPawnPromotionSquare(final int position) {
-            return BoardUtils.EIGHTH_ROW.get(position);
+            return BoardUtils.isOnSquares(BoardUtils.EIGHTH_ROW, position);
         }
     };
 
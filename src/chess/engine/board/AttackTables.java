@@ -0,0 +1,151 @@
+package chess.engine.board;
+
+import chess.engine.League;
+
+public final class AttackTables {
+
+    static final int[][] KNIGHT_VECTORS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    static final int[][] KING_VECTORS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    static final int[][] BISHOP_VECTORS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    static final int[][] ROOK_VECTORS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = initStepAttacks(KNIGHT_VECTORS);
+    private static final long[] KING_ATTACKS = initStepAttacks(KING_VECTORS);
+    //indexed by league index, then square of the attacking pawn
+    private static final long[][] PAWN_ATTACKS = {initStepAttacks(new int[][]{{-1, -1}, {-1, 1}}), initStepAttacks(new int[][]{{1, -1}, {1, 1}})};
+
+    //multipliers found by trying sparse random numbers until every occupancy of the square's rays lands on a slot
+    //that no occupancy with different attacks shares, for this numbering of the squares from a8
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+            0x602101010A0C0041L, 0x0005014C04088000L, 0x0042008101008020L, 0x0004404082185000L,
+            0x00108820042020A1L, 0x0021110840102000L, 0x6102010120100014L, 0x0000420061084000L,
+            0xA002200810008090L, 0x0800100481040228L, 0x0120840400820468L, 0x0002020A02000001L,
+            0x0088020210000810L, 0x8008009004A001C0L, 0x0041570090101A00L, 0x0101010400A20801L,
+            0x0004402089621800L, 0x002021308C208A94L, 0x1A020CB004024008L, 0x8020448401002002L,
+            0x0001014811400101L, 0x0000804808040210L, 0x0104030201048280L, 0x0100408104020140L,
+            0x0009202048200100L, 0x2802103021840080L, 0x1402281810004044L, 0x100900400C040002L,
+            0x4020090002004200L, 0x0808802202021000L, 0x000104001220AC00L, 0x0002220030250701L,
+            0x800884040910A008L, 0x300090112C040400L, 0x0804002402822400L, 0x0040020080080080L,
+            0x0A21080200102200L, 0x4020240102002080L, 0x40A264A100141400L, 0x1001010202011045L,
+            0x8001100904042018L, 0x2800808490002000L, 0x2419040202000100L, 0x000C420202000420L,
+            0x0008280104000040L, 0x0021010709010200L, 0x0120022401002040L, 0x8001110200840201L,
+            0x0200884410041000L, 0x0800443084100100L, 0x0002410088040000L, 0x1000000B05980204L,
+            0x0A10802004240000L, 0x000A050850090000L, 0x0208210104010001L, 0x09600401220420A0L,
+            0x1881210800902840L, 0x880406048A089200L, 0x0040010204844400L, 0x0000100288420200L,
+            0x0000000020024422L, 0x080200400408E880L, 0x0100120222080A02L, 0x8020014208004384L
+    };
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+            0x0080008A22504000L, 0x4040004010002003L, 0x4680088010002002L, 0x9080080004801000L,
+            0x8200108200088420L, 0x0580040042008001L, 0x82002E8200080104L, 0x8600004091002402L,
+            0x4100802080004008L, 0x0000400020100040L, 0x0208801004200080L, 0x400A002012000940L,
+            0xEBB1000801000410L, 0x0022001008040200L, 0x2403000A00090004L, 0x2020800100104880L,
+            0x3004888000400024L, 0x0000808040002006L, 0x0248110020050044L, 0x0000808010000802L,
+            0x0000818004010800L, 0x0809010008020400L, 0x0061808002000100L, 0x0002020001289044L,
+            0x0000400080008020L, 0x0000500040002000L, 0x0000820200204012L, 0x8008090100201004L,
+            0x0040110100080005L, 0x1000020080800400L, 0x400100090022000CL, 0x2024802080104900L,
+            0x82004004838000A1L, 0x0090002000404001L, 0x4200801000802002L, 0x00080A0022001240L,
+            0x0001000801001006L, 0x0000020080800400L, 0x0000881004000201L, 0x0010450092000444L,
+            0x0180002000404004L, 0x0500201000404000L, 0x0440200041010015L, 0x0212004008220010L,
+            0x1090080004008080L, 0x0044000200808004L, 0x0004281982040010L, 0x4000210040820004L,
+            0x00018000C0006180L, 0x0000200080400080L, 0x0020001100204100L, 0x0020081004210100L,
+            0x5000800800040080L, 0x0002000204008080L, 0x0200025001280400L, 0x0000004104008200L,
+            0x2280281145008001L, 0x0800400301388021L, 0x008D082001001045L, 0x4021210004100009L,
+            0x402200100448606AL, 0x00E2000110088402L, 0x0000100208213084L, 0x0C08040840208102L
+    };
+
+    //the occupancy of a slider's rays, edges left out, times the magic of the square indexes the attacks for that occupancy
+    private static final Magic[] BISHOP_MAGICS = initMagics(BISHOP_VECTORS, BISHOP_MAGIC_NUMBERS);
+    private static final Magic[] ROOK_MAGICS = initMagics(ROOK_VECTORS, ROOK_MAGIC_NUMBERS);
+
+    private static final class Magic {
+        private final long mask, magic;
+        private final int shift;
+        private final long[] attacks;
+
+        private Magic(final long mask, final long magic, final int shift, final long[] attacks) {
+            this.mask = mask;
+            this.magic = magic;
+            this.shift = shift;
+            this.attacks = attacks;
+        }
+
+        private long attacks(final long occupancy) { return this.attacks[(int) (((occupancy & this.mask) * this.magic) >>> this.shift)]; }
+    }
+
+    private AttackTables() { throw new RuntimeException("You cannot instantiate AttackTables"); }
+
+    public static long knightAttacks(final int square) { return KNIGHT_ATTACKS[square]; }
+
+    public static long kingAttacks(final int square) { return KING_ATTACKS[square]; }
+
+    public static long pawnAttacks(final League league, final int square) { return PAWN_ATTACKS[BitBoard.leagueIndex(league)][square]; }
+
+    public static long bishopAttacks(final int square, final long occupancy) { return BISHOP_MAGICS[square].attacks(occupancy); }
+
+    public static long rookAttacks(final int square, final long occupancy) { return ROOK_MAGICS[square].attacks(occupancy); }
+
+    public static long queenAttacks(final int square, final long occupancy) { return bishopAttacks(square, occupancy) | rookAttacks(square, occupancy); }
+
+    private static long[] initStepAttacks(final int[][] vectors) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for (final int[] vector : vectors) {
+                final int row = BoardUtils.getRow(square) + vector[0], column = BoardUtils.getColumn(square) + vector[1];
+                if (isOnBoard(row, column)) {
+                    attacks[square] |= 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static Magic[] initMagics(final int[][] vectors, final long[] magicNumbers) {
+        final Magic[] magics = new Magic[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            final long mask = relevantOccupancy(square, vectors);
+            final int shift = Long.SIZE - Long.bitCount(mask);
+            final long[] attacks = new long[1 << Long.bitCount(mask)];
+            //every subset of the mask, enumerated by carrying through its bits
+            long occupancy = 0;
+            do {
+                attacks[(int) ((occupancy * magicNumbers[square]) >>> shift)] = slidingAttacks(square, occupancy, vectors);
+                occupancy = (occupancy - mask) & mask;
+            } while (occupancy != 0);
+            magics[square] = new Magic(mask, magicNumbers[square], shift, attacks);
+        }
+        return magics;
+    }
+
+    //squares on the rays of the slider whose occupancy changes its attacks, the last square of each ray never blocks anything behind it
+    private static long relevantOccupancy(final int square, final int[][] vectors) {
+        long mask = 0;
+        for (final int[] vector : vectors) {
+            int row = BoardUtils.getRow(square) + vector[0], column = BoardUtils.getColumn(square) + vector[1];
+            while (isOnBoard(row + vector[0], column + vector[1])) {
+                mask |= 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+                row += vector[0];
+                column += vector[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square, final long occupancy, final int[][] vectors) {
+        long attacks = 0;
+        for (final int[] vector : vectors) {
+            int row = BoardUtils.getRow(square) + vector[0], column = BoardUtils.getColumn(square) + vector[1];
+            while (isOnBoard(row, column)) {
+                final long squareMask = 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= squareMask;
+                if ((occupancy & squareMask) != 0) {
+                    break;
+                }
+                row += vector[0];
+                column += vector[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) { return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW; }
+}
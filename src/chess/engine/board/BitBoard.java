@@ -0,0 +1,790 @@
+package chess.engine.board;
+
+import chess.engine.League;
+import chess.engine.pieces.*;
+
+import java.util.Arrays;
+
+public final class BitBoard {
+
+    public static final int NUM_PIECE_SETS = 12;
+    public static final int NO_PIECE = -1;
+    public static final int NO_SQUARE = -1;
+    public static final int MAX_MOVES = 256;
+    public static final int MAX_PLY = 128;
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    //move layout: from (6 bits) | to (6 bits) | promotion piece type (3 bits) | flag (2 bits) | moved piece (4 bits) | captured piece (4 bits)
+    public static final int FLAG_NONE = 0;
+    public static final int FLAG_PAWN_JUMP = 1;
+    public static final int FLAG_EN_PASSANT = 2;
+    public static final int FLAG_CASTLE = 3;
+    private static final int NO_CAPTURE = 0xF;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    //squares strictly between two squares sharing a row, column or diagonal, empty otherwise
+    private static final long[][] BETWEEN = initBetween();
+    //castling rights kept when a move touches the square
+    private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+    //one set per piece type and league, indexed by pieceIndex
+    private final long[] pieceSets;
+    private final long[] leagueOccupancy;
+    //piece index of every square, NO_PIECE when empty
+    private final int[] squares;
+    private long occupancy;
+
+    private League sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int moveCount;
+    private boolean whiteCastled, blackCastled;
+    private long zobristKey;
+    private int pieceSquareScore;
+    private long pawnKey;
+
+    private final UndoRecord[] history;
+    private int ply;
+    private final int[] scratchMoves;
+    //pin and check masks of the side to move, refreshed before every legal move generation
+    private final long[] pinRays;
+    private long pinned, checkMask;
+
+    private static final class UndoRecord {
+        private int move;
+        private int movedPiece;
+        private int capturedPiece;
+        private int castlingRights;
+        private int enPassantSquare;
+        private boolean whiteCastled, blackCastled;
+        private long zobristKey;
+
+        private void set(final UndoRecord undoRecord) {
+            this.move = undoRecord.move;
+            this.movedPiece = undoRecord.movedPiece;
+            this.capturedPiece = undoRecord.capturedPiece;
+            this.castlingRights = undoRecord.castlingRights;
+            this.enPassantSquare = undoRecord.enPassantSquare;
+            this.whiteCastled = undoRecord.whiteCastled;
+            this.blackCastled = undoRecord.blackCastled;
+            this.zobristKey = undoRecord.zobristKey;
+        }
+    }
+
+    private BitBoard() {
+        this.pieceSets = new long[NUM_PIECE_SETS];
+        this.leagueOccupancy = new long[2];
+        this.squares = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.squares, NO_PIECE);
+        this.enPassantSquare = NO_SQUARE;
+        this.history = createHistory();
+        this.scratchMoves = new int[MAX_MOVES];
+        this.pinRays = new long[BoardUtils.NUM_TILES];
+    }
+
+    private BitBoard(final BitBoard bitBoard) {
+        this.pieceSets = bitBoard.pieceSets.clone();
+        this.leagueOccupancy = bitBoard.leagueOccupancy.clone();
+        this.squares = bitBoard.squares.clone();
+        this.occupancy = bitBoard.occupancy;
+        this.sideToMove = bitBoard.sideToMove;
+        this.castlingRights = bitBoard.castlingRights;
+        this.enPassantSquare = bitBoard.enPassantSquare;
+        this.moveCount = bitBoard.moveCount;
+        this.whiteCastled = bitBoard.whiteCastled;
+        this.blackCastled = bitBoard.blackCastled;
+        this.zobristKey = bitBoard.zobristKey;
+        this.pieceSquareScore = bitBoard.pieceSquareScore;
+        this.pawnKey = bitBoard.pawnKey;
+        //a copy keeps the moves that led to it, so its plies count on from those of the board it was copied from
+        this.history = createHistory();
+        this.ply = bitBoard.ply;
+        for (int i = 0; i < this.ply; i++) {
+            this.history[i].set(bitBoard.history[i]);
+        }
+        this.scratchMoves = new int[MAX_MOVES];
+        this.pinRays = new long[BoardUtils.NUM_TILES];
+    }
+
+    public static BitBoard fromBoard(final Board board) {
+        final BitBoard bitBoard = new BitBoard();
+        for (final Piece piece : board.getAllPieces()) {
+            bitBoard.putPiece(pieceIndex(piece.getPieceType(), piece.getLeague()), piece.getPiecePosition());
+        }
+        bitBoard.sideToMove = board.currentPlayer().getLeague();
+        bitBoard.moveCount = board.getMoveCount();
+        bitBoard.castlingRights = calculateCastlingRights(board);
+        bitBoard.whiteCastled = board.whitePlayer().isCastled();
+        bitBoard.blackCastled = board.blackPlayer().isCastled();
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null) {
+            bitBoard.enPassantSquare = enPassantPawn.getPiecePosition() - 8 * enPassantPawn.getLeague().getDirection();
+        }
+        //putPiece has already hashed the pieces
+        bitBoard.zobristKey ^= Zobrist.sideKey(bitBoard.sideToMove) ^ Zobrist.castlingKey(bitBoard.castlingRights) ^ Zobrist.enPassantKey(bitBoard.enPassantSquare);
+        return bitBoard;
+    }
+
+    public Board toBoard() { return this.toBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND, BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND); }
+
+    public Board toBoard(final int whiteMinute, final int whiteSecond, final int blackMinute, final int blackSecond) {
+        final Board.Builder builder = new Board.Builder(this.moveCount, this.sideToMove, this.createEnPassantPawn())
+                                    .updateWhiteTimer(whiteMinute, whiteSecond)
+                                    .updateBlackTimer(blackMinute, blackSecond);
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            if (this.squares[square] != NO_PIECE) {
+                builder.setPiece(this.createPiece(this.squares[square], square));
+            }
+        }
+        return builder.build();
+    }
+
+    public BitBoard copy() { return new BitBoard(this); }
+
+    public static int pieceIndex(final PieceType pieceType, final League league) { return pieceType.ordinal() + (league.isWhite() ? 0 : 6); }
+
+    public static PieceType pieceTypeOf(final int pieceIndex) { return PIECE_TYPES[pieceIndex % 6]; }
+
+    public static League leagueOf(final int pieceIndex) { return pieceIndex < 6 ? League.WHITE : League.BLACK; }
+
+    public static int leagueIndex(final League league) { return league.isWhite() ? 0 : 1; }
+
+    public static League opposite(final League league) { return league.isWhite() ? League.BLACK : League.WHITE; }
+
+    public static int createMove(final int from, final int to, final int movedPiece, final int capturedPiece, final PieceType promotionType, final int flag) {
+        return from | (to << 6) | ((promotionType == null ? 0 : promotionType.ordinal()) << 12) | (flag << 15) | (movedPiece << 17) |
+               ((capturedPiece == NO_PIECE ? NO_CAPTURE : capturedPiece) << 21);
+    }
+
+    public static int encodeMove(final Move move) {
+        final Piece movedPiece = move.getMovedPiece(), attackedPiece = move.getAttackedPiece();
+        final int flag = move.isCastlingMove() ? FLAG_CASTLE : move instanceof Move.PawnEnPassantAttackMove ? FLAG_EN_PASSANT :
+                         move instanceof Move.PawnJump ? FLAG_PAWN_JUMP : FLAG_NONE;
+        final PieceType promotionType = move.isPromotionMove() ? ((Move.PawnPromotion) move).getMinimaxPromotionPiece().getPieceType() : null;
+        return createMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(), pieceIndex(movedPiece.getPieceType(), movedPiece.getLeague()),
+                          attackedPiece == null ? NO_PIECE : pieceIndex(attackedPiece.getPieceType(), attackedPiece.getLeague()), promotionType, flag);
+    }
+
+    //the legal move of the board packed as move, or the null move when there is none
+    public static Move decodeMove(final Board board, final int move) {
+        for (final Move legalMove : board.currentPlayer().getLegalMoves()) {
+            if (encodeMove(legalMove) == move) {
+                return legalMove;
+            }
+        }
+        return Move.MoveFactory.getNullMove();
+    }
+
+    //from, to, promotion and flag, which already tell the moves of one position apart
+    public static int getMoveKey(final int move) { return move & 0x1FFFF; }
+
+    public static int getFrom(final int move) { return move & 0x3F; }
+
+    public static int getTo(final int move) { return (move >>> 6) & 0x3F; }
+
+    public static PieceType getPromotionType(final int move) {
+        final int promotionType = (move >>> 12) & 0x7;
+        return promotionType == 0 ? null : PIECE_TYPES[promotionType];
+    }
+
+    public static int getFlag(final int move) { return (move >>> 15) & 0x3; }
+
+    public static int getMovedPiece(final int move) { return (move >>> 17) & 0xF; }
+
+    public static int getCapturedPiece(final int move) {
+        final int capturedPiece = (move >>> 21) & 0xF;
+        return capturedPiece == NO_CAPTURE ? NO_PIECE : capturedPiece;
+    }
+
+    public long getPieceSet(final PieceType pieceType, final League league) { return this.pieceSets[pieceIndex(pieceType, league)]; }
+
+    public long getPieceSet(final int pieceIndex) { return this.pieceSets[pieceIndex]; }
+
+    public long getOccupancy() { return this.occupancy; }
+
+    public int getMobility(final League league) { return countMobility(league, this.pieceSets, this.occupancy); }
+
+    public long getOccupancy(final League league) { return this.leagueOccupancy[leagueIndex(league)]; }
+
+    public int getPieceIndexAt(final int square) { return this.squares[square]; }
+
+    public PieceType getPieceTypeAt(final int square) { return this.squares[square] == NO_PIECE ? null : pieceTypeOf(this.squares[square]); }
+
+    public League getLeagueAt(final int square) { return this.squares[square] == NO_PIECE ? null : leagueOf(this.squares[square]); }
+
+    public boolean isOccupied(final int square) { return (this.occupancy & (1L << square)) != 0; }
+
+    public boolean isQuietMove(final int move) { return getPromotionType(move) == null && getCapturedPiece(move) == NO_PIECE; }
+
+    public int getKingSquare(final League league) { return Long.numberOfTrailingZeros(this.getPieceSet(PieceType.KING, league)); }
+
+    public League getSideToMove() { return this.sideToMove; }
+
+    public int getCastlingRights() { return this.castlingRights; }
+
+    public int getEnPassantSquare() { return this.enPassantSquare; }
+
+    public int getMoveCount() { return this.moveCount; }
+
+    public boolean isCastled(final League league) { return league.isWhite() ? this.whiteCastled : this.blackCastled; }
+
+    public long getZobristKey() { return this.zobristKey; }
+
+    //kept up to date by putPiece and removePiece, so make and unmake carry it like the piece part of the key
+    public int getPieceSquareScore() { return this.pieceSquareScore; }
+
+    //only the pawns hashed, kept up to date by putPiece and removePiece
+    public long getPawnKey() { return this.pawnKey; }
+
+    public int getPly() { return this.ply; }
+
+    public boolean wasCapture(final int pliesAgo) { return pliesAgo < this.ply && this.history[this.ply - 1 - pliesAgo].capturedPiece != NO_PIECE; }
+
+    public void makeMove(final int move) {
+        final UndoRecord undoRecord = this.history[this.ply++];
+        final int from = getFrom(move), to = getTo(move), flag = getFlag(move);
+        final int movedPiece = this.squares[from];
+        final League mover = this.sideToMove;
+
+        undoRecord.move = move;
+        undoRecord.movedPiece = movedPiece;
+        undoRecord.castlingRights = this.castlingRights;
+        undoRecord.enPassantSquare = this.enPassantSquare;
+        undoRecord.whiteCastled = this.whiteCastled;
+        undoRecord.blackCastled = this.blackCastled;
+        undoRecord.zobristKey = this.zobristKey;
+
+        if (flag == FLAG_EN_PASSANT) {
+            final int capturedSquare = to - 8 * mover.getDirection();
+            undoRecord.capturedPiece = this.squares[capturedSquare];
+            this.removePiece(capturedSquare);
+        } else {
+            undoRecord.capturedPiece = this.squares[to];
+            if (undoRecord.capturedPiece != NO_PIECE) {
+                this.removePiece(to);
+            }
+        }
+
+        this.removePiece(from);
+        final PieceType promotionType = getPromotionType(move);
+        this.putPiece(promotionType == null ? movedPiece : pieceIndex(promotionType, mover), to);
+
+        if (flag == FLAG_CASTLE) {
+            final int rookIndex = pieceIndex(PieceType.ROOK, mover);
+            if (to > from) {
+                this.removePiece(to + 1);
+                this.putPiece(rookIndex, to - 1);
+            } else {
+                this.removePiece(to - 2);
+                this.putPiece(rookIndex, to + 1);
+            }
+            if (mover.isWhite()) {
+                this.whiteCastled = true;
+            } else {
+                this.blackCastled = true;
+            }
+        }
+
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights);
+        this.enPassantSquare = flag == FLAG_PAWN_JUMP ? (from + to) / 2 : NO_SQUARE;
+        this.castlingRights = updateCastlingRights(this.castlingRights, from, to);
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights) ^ Zobrist.sideKey(League.BLACK);
+        this.sideToMove = opposite(mover);
+        this.moveCount++;
+    }
+
+    public void unmakeMove() {
+        final UndoRecord undoRecord = this.history[--this.ply];
+        final int move = undoRecord.move;
+        final int from = getFrom(move), to = getTo(move), flag = getFlag(move);
+        final League mover = opposite(this.sideToMove);
+
+        if (flag == FLAG_CASTLE) {
+            final int rookIndex = pieceIndex(PieceType.ROOK, mover);
+            if (to > from) {
+                this.removePiece(to - 1);
+                this.putPiece(rookIndex, to + 1);
+            } else {
+                this.removePiece(to + 1);
+                this.putPiece(rookIndex, to - 2);
+            }
+        }
+
+        this.removePiece(to);
+        this.putPiece(undoRecord.movedPiece, from);
+
+        if (undoRecord.capturedPiece != NO_PIECE) {
+            this.putPiece(undoRecord.capturedPiece, flag == FLAG_EN_PASSANT ? to - 8 * mover.getDirection() : to);
+        }
+
+        this.castlingRights = undoRecord.castlingRights;
+        this.enPassantSquare = undoRecord.enPassantSquare;
+        this.whiteCastled = undoRecord.whiteCastled;
+        this.blackCastled = undoRecord.blackCastled;
+        //putPiece and removePiece above have already restored the piece part, this also restores the rest
+        this.zobristKey = undoRecord.zobristKey;
+        this.sideToMove = mover;
+        this.moveCount--;
+    }
+
+    public int generateLegalMoves(final int[] moves) {
+        final int pseudoLegalCount = this.generatePseudoLegalMoves(moves, this.sideToMove);
+        this.updateLegalityMasks();
+        int legalCount = 0;
+        for (int i = 0; i < pseudoLegalCount; i++) {
+            if (this.passesLegalityMasks(moves[i])) {
+                moves[legalCount++] = moves[i];
+            }
+        }
+        return legalCount;
+    }
+
+    public boolean hasLegalMove() {
+        final int pseudoLegalCount = this.generatePseudoLegalMoves(this.scratchMoves, this.sideToMove);
+        this.updateLegalityMasks();
+        for (int i = 0; i < pseudoLegalCount; i++) {
+            if (this.passesLegalityMasks(this.scratchMoves[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isLegalMove(final int move) {
+        final League mover = this.sideToMove;
+        this.makeMove(move);
+        final boolean isLegal = !this.isSquareAttacked(this.getKingSquare(mover), this.sideToMove);
+        this.unmakeMove();
+        return isLegal;
+    }
+
+    public boolean isInCheck(final League league) { return this.isSquareAttacked(this.getKingSquare(league), opposite(league)); }
+
+    public boolean isInCheckmate(final League league) { return league == this.sideToMove && this.isInCheck(league) && !this.hasLegalMove(); }
+
+    public boolean isSquareAttacked(final int square, final League attacker) { return isSquareAttacked(square, attacker, this.pieceSets, this.occupancy); }
+
+    static boolean isSquareAttacked(final int square, final League attacker, final long[] pieceSets, final long occupancy) {
+        final int offset = attacker.isWhite() ? 0 : 6;
+        //a pawn of the defending league placed on the square attacks exactly the squares attacking pawns can come from
+        if ((AttackTables.pawnAttacks(opposite(attacker), square) & pieceSets[PieceType.PAWN.ordinal() + offset]) != 0) {
+            return true;
+        }
+        if ((AttackTables.knightAttacks(square) & pieceSets[PieceType.KNIGHT.ordinal() + offset]) != 0) {
+            return true;
+        }
+        if ((AttackTables.kingAttacks(square) & pieceSets[PieceType.KING.ordinal() + offset]) != 0) {
+            return true;
+        }
+        final long queens = pieceSets[PieceType.QUEEN.ordinal() + offset];
+        if ((AttackTables.bishopAttacks(square, occupancy) & (pieceSets[PieceType.BISHOP.ordinal() + offset] | queens)) != 0) {
+            return true;
+        }
+        return (AttackTables.rookAttacks(square, occupancy) & (pieceSets[PieceType.ROOK.ordinal() + offset] | queens)) != 0;
+    }
+
+    //squares the pieces of the league attack that its own pieces do not hold, read off the attack tables without generating moves, pawns left out
+    static int countMobility(final League league, final long[] pieceSets, final long occupancy) {
+        final int offset = league.isWhite() ? 0 : 6;
+        long ownPieces = 0;
+        for (int pieceIndex = offset; pieceIndex < offset + 6; pieceIndex++) {
+            ownPieces |= pieceSets[pieceIndex];
+        }
+        final long targets = ~ownPieces;
+        int mobility = 0;
+        for (long knights = pieceSets[PieceType.KNIGHT.ordinal() + offset]; knights != 0; knights &= knights - 1) {
+            mobility += Long.bitCount(AttackTables.knightAttacks(Long.numberOfTrailingZeros(knights)) & targets);
+        }
+        for (long bishops = pieceSets[PieceType.BISHOP.ordinal() + offset]; bishops != 0; bishops &= bishops - 1) {
+            mobility += Long.bitCount(AttackTables.bishopAttacks(Long.numberOfTrailingZeros(bishops), occupancy) & targets);
+        }
+        for (long rooks = pieceSets[PieceType.ROOK.ordinal() + offset]; rooks != 0; rooks &= rooks - 1) {
+            mobility += Long.bitCount(AttackTables.rookAttacks(Long.numberOfTrailingZeros(rooks), occupancy) & targets);
+        }
+        for (long queens = pieceSets[PieceType.QUEEN.ordinal() + offset]; queens != 0; queens &= queens - 1) {
+            mobility += Long.bitCount(AttackTables.queenAttacks(Long.numberOfTrailingZeros(queens), occupancy) & targets);
+        }
+        for (long king = pieceSets[PieceType.KING.ordinal() + offset]; king != 0; king &= king - 1) {
+            mobility += Long.bitCount(AttackTables.kingAttacks(Long.numberOfTrailingZeros(king)) & targets);
+        }
+        return mobility;
+    }
+
+    static long attackersOf(final int square, final League attacker, final long[] pieceSets, final long occupancy) {
+        final int offset = attacker.isWhite() ? 0 : 6;
+        final long queens = pieceSets[PieceType.QUEEN.ordinal() + offset];
+        return (AttackTables.pawnAttacks(opposite(attacker), square) & pieceSets[PieceType.PAWN.ordinal() + offset]) |
+               (AttackTables.knightAttacks(square) & pieceSets[PieceType.KNIGHT.ordinal() + offset]) |
+               (AttackTables.kingAttacks(square) & pieceSets[PieceType.KING.ordinal() + offset]) |
+               (AttackTables.bishopAttacks(square, occupancy) & (pieceSets[PieceType.BISHOP.ordinal() + offset] | queens)) |
+               (AttackTables.rookAttacks(square, occupancy) & (pieceSets[PieceType.ROOK.ordinal() + offset] | queens));
+    }
+
+    public int staticExchangeEvaluation(final int move) {
+        if (getFlag(move) == FLAG_CASTLE) {
+            return 0;
+        }
+        final int from = getFrom(move), to = getTo(move);
+        final int capturedSquare = getFlag(move) == FLAG_EN_PASSANT ? to - 8 * this.getLeagueAt(from).getDirection() : to;
+        return staticExchange(from, to, capturedSquare, this.getPieceTypeAt(from), this.getLeagueAt(from), this.getPieceTypeAt(capturedSquare), this.pieceSets, this.occupancy);
+    }
+
+    //material the mover wins (negative when it loses) once every attacker of the square has recaptured for as long as it pays,
+    //cheapest attacker first and with sliders behind a capturing piece joining in
+    static int staticExchange(final int from, final int to, final int capturedSquare, final PieceType movingType, final League mover,
+                              final PieceType capturedType, final long[] pieceSets, final long initialOccupancy) {
+        final int[] gain = new int[32];
+        long occupancy = initialOccupancy & ~(1L << from) & ~(1L << capturedSquare);
+        int depth = 0;
+        gain[0] = capturedType == null ? 0 : capturedType.getPieceValue();
+        int attackerValue = movingType.getPieceValue();
+        League side = opposite(mover);
+        while (true) {
+            depth++;
+            gain[depth] = attackerValue - gain[depth - 1];
+            final long attackers = attackersOf(to, side, pieceSets, occupancy) & occupancy;
+            if (attackers == 0) {
+                break;
+            }
+            final int offset = side.isWhite() ? 0 : 6;
+            PieceType leastValuable = null;
+            for (final PieceType pieceType : PIECE_TYPES) {
+                final long pieces = attackers & pieceSets[pieceType.ordinal() + offset];
+                if (pieces != 0) {
+                    occupancy &= ~Long.lowestOneBit(pieces);
+                    leastValuable = pieceType;
+                    break;
+                }
+            }
+            attackerValue = leastValuable.getPieceValue();
+            side = opposite(side);
+        }
+        while (--depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    //destinations that deal with a check on the king: every square when not in check, none on a double check
+    static long checkMask(final int kingSquare, final League league, final long[] pieceSets, final long occupancy) {
+        final long checkers = attackersOf(kingSquare, opposite(league), pieceSets, occupancy);
+        if (checkers == 0) {
+            return ~0L;
+        }
+        if ((checkers & (checkers - 1)) != 0) {
+            return 0;
+        }
+        return BETWEEN[kingSquare][Long.numberOfTrailingZeros(checkers)] | checkers;
+    }
+
+    //returns the pinned pieces of the league and fills pinRays with the line each of them is confined to
+    static long pinnedPieces(final int kingSquare, final League league, final long[] pieceSets, final long occupancy, final long[] pinRays) {
+        final int offset = league.isWhite() ? 6 : 0;
+        final long queens = pieceSets[PieceType.QUEEN.ordinal() + offset];
+        final long snipers = (AttackTables.bishopAttacks(kingSquare, 0) & (pieceSets[PieceType.BISHOP.ordinal() + offset] | queens)) |
+                             (AttackTables.rookAttacks(kingSquare, 0) & (pieceSets[PieceType.ROOK.ordinal() + offset] | queens));
+        long ownOccupancy = 0;
+        for (int i = 6 - offset; i < 12 - offset; i++) {
+            ownOccupancy |= pieceSets[i];
+        }
+        long pinned = 0;
+        for (long remaining = snipers; remaining != 0; remaining &= remaining - 1) {
+            final int sniper = Long.numberOfTrailingZeros(remaining);
+            final long blockers = BETWEEN[kingSquare][sniper] & occupancy;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & ownOccupancy) != 0) {
+                pinned |= blockers;
+                pinRays[Long.numberOfTrailingZeros(blockers)] = BETWEEN[kingSquare][sniper] | (1L << sniper);
+            }
+        }
+        return pinned;
+    }
+
+    public int generatePseudoLegalMoves(final int[] moves, final League league) { return this.generatePseudoLegalMoves(moves, league, false); }
+
+    //captures, promoting ones to every piece, and the other promotions to a queen only, en passant only for the side to move
+    public int generatePseudoLegalCaptures(final int[] moves, final League league) { return this.generatePseudoLegalMoves(moves, league, true); }
+
+    //as above for the side to move, without the moves that leave its king in check
+    public int generateLegalCaptures(final int[] moves) {
+        final int pseudoLegalCount = this.generatePseudoLegalMoves(moves, this.sideToMove, true);
+        this.updateLegalityMasks();
+        int legalCount = 0;
+        for (int i = 0; i < pseudoLegalCount; i++) {
+            if (this.passesLegalityMasks(moves[i])) {
+                moves[legalCount++] = moves[i];
+            }
+        }
+        return legalCount;
+    }
+
+    private int generatePseudoLegalMoves(final int[] moves, final League league, final boolean capturesOnly) {
+        final long targets = capturesOnly ? this.getOccupancy(opposite(league)) : ~this.getOccupancy(league);
+        int count = this.generatePawnMoves(moves, 0, league, capturesOnly);
+
+        for (long knights = this.getPieceSet(PieceType.KNIGHT, league); knights != 0; knights &= knights - 1) {
+            final int from = Long.numberOfTrailingZeros(knights);
+            count = addMoves(moves, count, from, AttackTables.knightAttacks(from) & targets);
+        }
+        for (long bishops = this.getPieceSet(PieceType.BISHOP, league); bishops != 0; bishops &= bishops - 1) {
+            final int from = Long.numberOfTrailingZeros(bishops);
+            count = addMoves(moves, count, from, AttackTables.bishopAttacks(from, this.occupancy) & targets);
+        }
+        for (long rooks = this.getPieceSet(PieceType.ROOK, league); rooks != 0; rooks &= rooks - 1) {
+            final int from = Long.numberOfTrailingZeros(rooks);
+            count = addMoves(moves, count, from, AttackTables.rookAttacks(from, this.occupancy) & targets);
+        }
+        for (long queens = this.getPieceSet(PieceType.QUEEN, league); queens != 0; queens &= queens - 1) {
+            final int from = Long.numberOfTrailingZeros(queens);
+            final long attacks = AttackTables.queenAttacks(from, this.occupancy);
+            count = addMoves(moves, count, from, attacks & targets);
+        }
+        final long king = this.getPieceSet(PieceType.KING, league);
+        if (king != 0) {
+            final int from = Long.numberOfTrailingZeros(king);
+            count = addMoves(moves, count, from, AttackTables.kingAttacks(from) & targets);
+            if (!capturesOnly) {
+                count = this.generateCastleMoves(moves, count, league);
+            }
+        }
+        return count;
+    }
+
+    private int generatePawnMoves(final int[] moves, int count, final League league, final boolean capturesOnly) {
+        final int direction = league.getDirection();
+        final long enemyOccupancy = this.getOccupancy(opposite(league));
+        for (long pawns = this.getPieceSet(PieceType.PAWN, league); pawns != 0; pawns &= pawns - 1) {
+            final int from = Long.numberOfTrailingZeros(pawns);
+            final int oneStep = from + 8 * direction;
+            if (!BoardUtils.isValidTileCoordinate(oneStep)) {
+                continue;
+            }
+            if (!this.isOccupied(oneStep)) {
+                if (!capturesOnly) {
+                    count = addPawnMoves(moves, count, from, oneStep, league);
+                    final boolean isStartRow = BoardUtils.isOnSquares(league.isWhite() ? BoardUtils.SEVENTH_ROW : BoardUtils.SECOND_ROW, from);
+                    if (isStartRow && !this.isOccupied(oneStep + 8 * direction)) {
+                        moves[count++] = this.packMove(from, oneStep + 8 * direction, null, FLAG_PAWN_JUMP);
+                    }
+                } else if (league.isPawnPromotionSquare(oneStep)) {
+                    moves[count++] = this.packMove(from, oneStep, PieceType.QUEEN, FLAG_NONE);
+                }
+            }
+            for (long attacks = AttackTables.pawnAttacks(league, from); attacks != 0; attacks &= attacks - 1) {
+                final int to = Long.numberOfTrailingZeros(attacks);
+                if ((enemyOccupancy & (1L << to)) != 0) {
+                    count = addPawnMoves(moves, count, from, to, league);
+                } else if (to == this.enPassantSquare && league == this.sideToMove) {
+                    moves[count++] = this.packMove(from, to, null, FLAG_EN_PASSANT);
+                }
+            }
+        }
+        return count;
+    }
+
+    private int generateCastleMoves(final int[] moves, int count, final League league) {
+        final boolean isWhite = league.isWhite();
+        final int kingSideRight = isWhite ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+        final int queenSideRight = isWhite ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+        if ((this.castlingRights & (kingSideRight | queenSideRight)) == 0) {
+            return count;
+        }
+        final int kingSquare = isWhite ? 60 : 4;
+        final League opponent = opposite(league);
+        if (this.isSquareAttacked(kingSquare, opponent)) {
+            return count;
+        }
+        if ((this.castlingRights & kingSideRight) != 0 && !this.isOccupied(kingSquare + 1) && !this.isOccupied(kingSquare + 2) &&
+                !this.isSquareAttacked(kingSquare + 1, opponent) && !this.isSquareAttacked(kingSquare + 2, opponent)) {
+            moves[count++] = this.packMove(kingSquare, kingSquare + 2, null, FLAG_CASTLE);
+        }
+        if ((this.castlingRights & queenSideRight) != 0 && !this.isOccupied(kingSquare - 1) && !this.isOccupied(kingSquare - 2) && !this.isOccupied(kingSquare - 3) &&
+                !this.isSquareAttacked(kingSquare - 1, opponent) && !this.isSquareAttacked(kingSquare - 2, opponent)) {
+            moves[count++] = this.packMove(kingSquare, kingSquare - 2, null, FLAG_CASTLE);
+        }
+        return count;
+    }
+
+    private int addPawnMoves(final int[] moves, int count, final int from, final int to, final League league) {
+        if (league.isPawnPromotionSquare(to)) {
+            for (final PieceType promotionType : PROMOTION_TYPES) {
+                moves[count++] = this.packMove(from, to, promotionType, FLAG_NONE);
+            }
+        } else {
+            moves[count++] = this.packMove(from, to, null, FLAG_NONE);
+        }
+        return count;
+    }
+
+    private int addMoves(final int[] moves, int count, final int from, long targets) {
+        for (; targets != 0; targets &= targets - 1) {
+            moves[count++] = this.packMove(from, Long.numberOfTrailingZeros(targets), null, FLAG_NONE);
+        }
+        return count;
+    }
+
+    //the moved and the captured piece are read off the position the move is generated in
+    private int packMove(final int from, final int to, final PieceType promotionType, final int flag) {
+        final int capturedPiece = flag == FLAG_EN_PASSANT ? pieceIndex(PieceType.PAWN, opposite(leagueOf(this.squares[from]))) : this.squares[to];
+        return createMove(from, to, this.squares[from], capturedPiece, promotionType, flag);
+    }
+
+    private void updateLegalityMasks() {
+        final long king = this.getPieceSet(PieceType.KING, this.sideToMove);
+        if (king == 0) {
+            this.checkMask = ~0L;
+            this.pinned = 0;
+            return;
+        }
+        final int kingSquare = Long.numberOfTrailingZeros(king);
+        this.checkMask = checkMask(kingSquare, this.sideToMove, this.pieceSets, this.occupancy);
+        this.pinned = pinnedPieces(kingSquare, this.sideToMove, this.pieceSets, this.occupancy, this.pinRays);
+    }
+
+    private boolean passesLegalityMasks(final int move) {
+        final int from = getFrom(move), to = getTo(move);
+        if (this.squares[from] == pieceIndex(PieceType.KING, this.sideToMove)) {
+            //castles are only generated through unattacked squares, other king moves must not stay on the line of a slider
+            return getFlag(move) == FLAG_CASTLE || !isSquareAttacked(to, opposite(this.sideToMove), this.pieceSets, this.occupancy & ~(1L << from));
+        }
+        if (getFlag(move) == FLAG_EN_PASSANT) {
+            //two pawns leave the row at once, which the masks do not cover
+            return this.isLegalMove(move);
+        }
+        final long toMask = 1L << to;
+        return (this.checkMask & toMask) != 0 && ((this.pinned & (1L << from)) == 0 || (this.pinRays[from] & toMask) != 0);
+    }
+
+    private void putPiece(final int pieceIndex, final int square) {
+        final long squareMask = 1L << square;
+        this.pieceSets[pieceIndex] |= squareMask;
+        this.leagueOccupancy[pieceIndex < 6 ? 0 : 1] |= squareMask;
+        this.occupancy |= squareMask;
+        this.squares[square] = pieceIndex;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+        this.pieceSquareScore += PieceSquareTable.pieceSquareScore(pieceIndex, square);
+        if (pieceTypeOf(pieceIndex) == PieceType.PAWN) {
+            this.pawnKey ^= Zobrist.pieceKey(pieceIndex, square);
+        }
+    }
+
+    private void removePiece(final int square) {
+        final int pieceIndex = this.squares[square];
+        final long squareMask = ~(1L << square);
+        this.pieceSets[pieceIndex] &= squareMask;
+        this.leagueOccupancy[pieceIndex < 6 ? 0 : 1] &= squareMask;
+        this.occupancy &= squareMask;
+        this.squares[square] = NO_PIECE;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+        this.pieceSquareScore -= PieceSquareTable.pieceSquareScore(pieceIndex, square);
+        if (pieceTypeOf(pieceIndex) == PieceType.PAWN) {
+            this.pawnKey ^= Zobrist.pieceKey(pieceIndex, square);
+        }
+    }
+
+    private Pawn createEnPassantPawn() {
+        if (this.enPassantSquare == NO_SQUARE) {
+            return null;
+        }
+        //the pawn that jumped belongs to the player who just moved
+        final League jumpedLeague = opposite(this.sideToMove);
+        return new Pawn(jumpedLeague, this.enPassantSquare + 8 * jumpedLeague.getDirection());
+    }
+
+    private Piece createPiece(final int pieceIndex, final int square) {
+        final League league = leagueOf(pieceIndex);
+        final boolean isWhite = league.isWhite();
+        switch (pieceTypeOf(pieceIndex)) {
+            case PAWN:
+                return new Pawn(league, square);
+            case KNIGHT:
+                return new Knight(league, square);
+            case BISHOP:
+                return new Bishop(league, square);
+            case ROOK:
+                if (square == (isWhite ? 63 : 7)) {
+                    return new Rook(league, square, (this.castlingRights & (isWhite ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE)) != 0);
+                } else if (square == (isWhite ? 56 : 0)) {
+                    return new Rook(league, square, (this.castlingRights & (isWhite ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE)) != 0);
+                }
+                return new Rook(league, square, false);
+            case QUEEN:
+                return new Queen(league, square);
+            default:
+                final boolean kingSideCastleCapable = (this.castlingRights & (isWhite ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE)) != 0;
+                final boolean queenSideCastleCapable = (this.castlingRights & (isWhite ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE)) != 0;
+                return new King(league, square, kingSideCastleCapable || queenSideCastleCapable, this.isCastled(league), kingSideCastleCapable, queenSideCastleCapable);
+        }
+    }
+
+    static int calculateCastlingRights(final Board board) { return calculateCastlingRights(board, League.WHITE) | calculateCastlingRights(board, League.BLACK); }
+
+    //castling rights left once a move has touched both squares
+    static int updateCastlingRights(final int castlingRights, final int from, final int to) { return castlingRights & CASTLING_RIGHTS_MASK[from] & CASTLING_RIGHTS_MASK[to]; }
+
+    private static int calculateCastlingRights(final Board board, final League league) {
+        final King king = league.isWhite() ? board.whitePlayer().getPlayerKing() : board.blackPlayer().getPlayerKing();
+        final int kingSquare = league.isWhite() ? 60 : 4;
+        if (king.getPiecePosition() != kingSquare || !king.isFirstMove() || king.isCastled()) {
+            return 0;
+        }
+        int castlingRights = 0;
+        if (king.isKingSideCastleCapable() && isUnmovedRook(board, league.isWhite() ? 63 : 7, league)) {
+            castlingRights |= league.isWhite() ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+        }
+        if (king.isQueenSideCastleCapable() && isUnmovedRook(board, league.isWhite() ? 56 : 0, league)) {
+            castlingRights |= league.isWhite() ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+        }
+        return castlingRights;
+    }
+
+    private static boolean isUnmovedRook(final Board board, final int square, final League league) {
+        final Tile tile = board.getTile(square);
+        return tile.isTileOccupied() && tile.getPiece().getPieceType().isRook() &&
+                tile.getPiece().getLeague() == league && tile.getPiece().isFirstMove();
+    }
+
+    private static long[][] initBetween() {
+        final long[][] between = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for (final int[] vector : AttackTables.KING_VECTORS) {
+                long path = 0;
+                int row = BoardUtils.getRow(square) + vector[0], column = BoardUtils.getColumn(square) + vector[1];
+                while (row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW) {
+                    final int target = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                    between[square][target] = path;
+                    path |= 1L << target;
+                    row += vector[0];
+                    column += vector[1];
+                }
+            }
+        }
+        return between;
+    }
+
+    private static int[] initCastlingRightsMask() {
+        final int[] castlingRightsMask = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(castlingRightsMask, WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE | BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[63] &= ~WHITE_KING_SIDE_CASTLE;
+        castlingRightsMask[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        castlingRightsMask[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[7] &= ~BLACK_KING_SIDE_CASTLE;
+        castlingRightsMask[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return castlingRightsMask;
+    }
+
+    private static UndoRecord[] createHistory() {
+        final UndoRecord[] history = new UndoRecord[MAX_PLY];
+        for (int i = 0; i < MAX_PLY; i++) {
+            history[i] = new UndoRecord();
+        }
+        return history;
+    }
+}
@@ -30,6 +30,17 @@ public final class Board implements Serializable {
     private final int moveCount;
 
     private final Move transitionMove;
+    private final long zobristKey;
+    private final int pieceSquareScore;
+    private final long pawnKey;
+
+    //one set per piece type and league, laid out like BitBoard, for attack queries
+    private final long[] pieceSets;
+    private final long occupancy;
+    private transient volatile KingSafety whiteKingSafety, blackKingSafety;
+
+    //generated on first access, boards that are only scored or checked for king safety never build them
+    private volatile Collection<Move> whiteStandardLegalMoves, blackStandardLegalMoves;
 
     private Board(final Builder builder) {
         this.gameBoard = createGameBoard(builder);
@@ -37,20 +48,30 @@ public final class Board implements Serializable {
         this.blackPieces = calculateActivePieces(builder, League.BLACK);
 
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardLegalMoves = this.calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = this.calculateLegalMoves(this.blackPieces);
+        this.pieceSets = calculatePieceSets(builder);
+        this.occupancy = builder.boardConfig.keySet().stream().mapToLong(position -> 1L << position).reduce(0, (a, b) -> a | b);
 
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves, builder.whiteMinute, builder.whiteSecond);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves, builder.blackMinute, builder.blackSecond);
+        this.whitePlayer = new WhitePlayer(this, builder.whiteMinute, builder.whiteSecond);
+        this.blackPlayer = new BlackPlayer(this, builder.blackMinute, builder.blackSecond);
 
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
 
         this.moveCount = builder.moveCount();
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        //moves hand over a key updated from the previous board, anything else is hashed from scratch
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey : Zobrist.calculateKey(this);
+        this.pawnKey = builder.pawnKey != null ? builder.pawnKey : Zobrist.calculatePawnKey(this.getPieceSet(PieceType.PAWN, League.WHITE), this.getPieceSet(PieceType.PAWN, League.BLACK));
+        this.pieceSquareScore = builder.pieceSquareScore != null ? builder.pieceSquareScore : PieceSquareTable.calculatePieceSquareScore(this);
     }
 
     public int getMoveCount() { return this.moveCount; }
 
+    public long getZobristKey() { return this.zobristKey; }
+
+    public int getPieceSquareScore() { return this.pieceSquareScore; }
+
+    public long getPawnKey() { return this.pawnKey; }
+
     public Player currentPlayer() {
         return this.currentPlayer;
     }
@@ -75,7 +96,92 @@ public final class Board implements Serializable {
         return this.enPassantPawn;
     }
 
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) { return pieces.stream().flatMap(piece -> piece.calculateLegalMoves(this).stream()).collect(Collectors.toUnmodifiableList()); }
+    public Collection<Move> getStandardLegalMoves(final League league) {
+        //racing threads may both generate the list, but they build equal immutable lists so either one can be kept
+        if (league.isWhite()) {
+            Collection<Move> moves = this.whiteStandardLegalMoves;
+            if (moves == null) {
+                moves = this.calculateLegalMoves(this.whitePieces);
+                this.whiteStandardLegalMoves = moves;
+            }
+            return moves;
+        }
+        Collection<Move> moves = this.blackStandardLegalMoves;
+        if (moves == null) {
+            moves = this.calculateLegalMoves(this.blackPieces);
+            this.blackStandardLegalMoves = moves;
+        }
+        return moves;
+    }
+
+    public long getOccupancy() { return this.occupancy; }
+
+    public long getPieceSet(final PieceType pieceType, final League league) { return this.pieceSets[BitBoard.pieceIndex(pieceType, league)]; }
+
+    public long getOccupancy(final League league) {
+        long occupancy = 0;
+        for (final PieceType pieceType : PieceType.values()) {
+            occupancy |= this.pieceSets[BitBoard.pieceIndex(pieceType, league)];
+        }
+        return occupancy;
+    }
+
+    public boolean isSquareAttacked(final int square, final League league) { return BitBoard.isSquareAttacked(square, league, this.pieceSets, this.occupancy); }
+
+    public int getMobility(final League league) { return BitBoard.countMobility(league, this.pieceSets, this.occupancy); }
+
+    //material won by the move once the exchange it starts on the destination has played out, castles count as even
+    public int staticExchangeEvaluation(final Move move) {
+        if (move.isCastlingMove()) {
+            return 0;
+        }
+        final Piece movedPiece = move.getMovedPiece(), attackedPiece = move.getAttackedPiece();
+        final int destinationCoordinate = move.getDestinationCoordinate();
+        return BitBoard.staticExchange(movedPiece.getPiecePosition(), destinationCoordinate, attackedPiece == null ? destinationCoordinate : attackedPiece.getPiecePosition(),
+                movedPiece.getPieceType(), movedPiece.getLeague(), attackedPiece == null ? null : attackedPiece.getPieceType(), this.pieceSets, this.occupancy);
+    }
+
+    public boolean isLegalMove(final Piece piece, final int destinationCoordinate) {
+        final League league = piece.getLeague();
+        final int sourceCoordinate = piece.getPiecePosition();
+        if (piece.getPieceType().isKing()) {
+            return !BitBoard.isSquareAttacked(destinationCoordinate, BitBoard.opposite(league), this.pieceSets, this.occupancy & ~(1L << sourceCoordinate));
+        }
+        final int kingCoordinate = (league.isWhite() ? this.whitePlayer : this.blackPlayer).getPlayerKing().getPiecePosition();
+        if (piece.getPieceType() == PieceType.PAWN && (destinationCoordinate - sourceCoordinate) % BoardUtils.NUM_TILES_PER_ROW != 0 && !this.getTile(destinationCoordinate).isTileOccupied()) {
+            //en passant takes a pawn off a different square than it lands on, so replay the occupancy instead of using the masks
+            final long capturedMask = 1L << this.enPassantPawn.getPiecePosition();
+            final long occupancy = (this.occupancy & ~(1L << sourceCoordinate) & ~capturedMask) | (1L << destinationCoordinate);
+            return (BitBoard.attackersOf(kingCoordinate, BitBoard.opposite(league), this.pieceSets, occupancy) & ~capturedMask) == 0;
+        }
+        final KingSafety kingSafety = this.getKingSafety(league, kingCoordinate);
+        final long destinationMask = 1L << destinationCoordinate;
+        return (kingSafety.checkMask & destinationMask) != 0 &&
+               ((kingSafety.pinned & (1L << sourceCoordinate)) == 0 || (kingSafety.pinRays[sourceCoordinate] & destinationMask) != 0);
+    }
+
+    private KingSafety getKingSafety(final League league, final int kingCoordinate) {
+        KingSafety kingSafety = league.isWhite() ? this.whiteKingSafety : this.blackKingSafety;
+        if (kingSafety == null) {
+            kingSafety = new KingSafety(kingCoordinate, league, this.pieceSets, this.occupancy);
+            if (league.isWhite()) {
+                this.whiteKingSafety = kingSafety;
+            } else {
+                this.blackKingSafety = kingSafety;
+            }
+        }
+        return kingSafety;
+    }
+
+    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) { return pieces.stream().flatMap(piece -> piece.calculateStandardMoves(this).stream()).collect(Collectors.toUnmodifiableList()); }
+
+    private static long[] calculatePieceSets(final Builder builder) {
+        final long[] pieceSets = new long[BitBoard.NUM_PIECE_SETS];
+        for (final Piece piece : builder.boardConfig.values()) {
+            pieceSets[BitBoard.pieceIndex(piece.getPieceType(), piece.getLeague())] |= 1L << piece.getPiecePosition();
+        }
+        return pieceSets;
+    }
 
     private static Collection<Piece> calculateActivePieces(final Builder builder, final League league) { return builder.boardConfig.values().stream().filter(piece -> piece.getLeague() == league).collect(Collectors.toUnmodifiableList()); }
 
@@ -129,6 +235,17 @@ public final class Board implements Serializable {
         return builder.build();
     }
 
+    private static final class KingSafety {
+
+        private final long checkMask, pinned;
+        private final long[] pinRays = new long[BoardUtils.NUM_TILES];
+
+        private KingSafety(final int kingCoordinate, final League league, final long[] pieceSets, final long occupancy) {
+            this.checkMask = BitBoard.checkMask(kingCoordinate, league, pieceSets, occupancy);
+            this.pinned = BitBoard.pinnedPieces(kingCoordinate, league, pieceSets, occupancy, this.pinRays);
+        }
+    }
+
     public static final class Builder {
 
         private final HashMap<Integer, Piece> boardConfig;
@@ -138,6 +255,9 @@ public final class Board implements Serializable {
         private int whiteMinute, whiteSecond;
         private int blackMinute, blackSecond;
         private Move transitionMove;
+        private Long zobristKey;
+        private Integer pieceSquareScore;
+        private Long pawnKey;
 
         public Builder(final int moveCount, final League nextMoveMaker, final Pawn enPassantPawn) {
             //set initialCapacity to 32 and loadFactor to 1 to reduce chance of hash collision
@@ -156,6 +276,12 @@ public final class Board implements Serializable {
 
         public void setTransitionMove(final Move transitionMove) { this.transitionMove = transitionMove; }
 
+        public void setZobristKey(final long zobristKey) { this.zobristKey = zobristKey; }
+
+        public void setPieceSquareScore(final int pieceSquareScore) { this.pieceSquareScore = pieceSquareScore; }
+
+        public void setPawnKey(final long pawnKey) { this.pawnKey = pawnKey; }
+
         public int moveCount() { return this.moveCount; }
 
         public Builder updateWhiteTimer(final int whiteMinute, final int whiteSecond) {
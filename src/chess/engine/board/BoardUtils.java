@@ -4,78 +4,83 @@ import chess.engine.pieces.Piece;
 import chess.engine.pieces.PieceType;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Collections;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Objects;
 
 import static chess.engine.board.Move.MoveFactory;
 
 public final class BoardUtils {
 
-    public static final List<Boolean> FIRST_COLUMN = initColumn(0);
-    public static final List<Boolean> SECOND_COLUMN = initColumn(1);
-    public static final List<Boolean> SEVENTH_COLUMN = initColumn(6);
-    public static final List<Boolean> EIGHTH_COLUMN = initColumn(7);
-
-    public static final List<Boolean> FIRST_ROW = initRow(0);
-    public static final List<Boolean> SECOND_ROW = initRow(8);
-    public static final List<Boolean> THIRD_ROW = initRow(16);
-    public static final List<Boolean> FIFTH_ROW = initRow(32);
-    public static final List<Boolean> SEVENTH_ROW = initRow(48);
-    public static final List<Boolean> EIGHTH_ROW = initRow(56);
-    public static final List<String> ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
-    public static final Map<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
-
     public static final int NUM_TILES = 64;
     public static final int NUM_TILES_PER_ROW = 8, DEFAULT_TIMER_MINUTE = 30, DEFAULT_TIMER_SECOND = 0;
 
-    private static List<String> initializeAlgebraicNotation() {
-        return List.of(
-                "a8", "b8", "c8", "d8", "e8", "f8", "g8", "h8",
-                "a7", "b7", "c7", "d7", "e7", "f7", "g7", "h7",
-                "a6", "b6", "c6", "d6", "e6", "f6", "g6", "h6",
-                "a5", "b5", "c5", "d5", "e5", "f5", "g5", "h5",
-                "a4", "b4", "c4", "d4", "e4", "f4", "g4", "h4",
-                "a3", "b3", "c3", "d3", "e3", "f3", "g3", "h3",
-                "a2", "b2", "c2", "d2", "e2", "f2", "g2", "h2",
-                "a1", "b1", "c1", "d1", "e1", "f1", "g1", "h1");
-    }
-
-    private static List<Boolean> initColumn(int columnNumber) {
-        final boolean[] columns = new boolean[NUM_TILES];
-        do {
-            columns[columnNumber] = true;
-            columnNumber += NUM_TILES_PER_ROW;
-        } while (columnNumber < NUM_TILES);
-        final List<Boolean> columnList = new ArrayList<>(NUM_TILES);
-        for (final boolean column : columns) {
-            columnList.add(column);
+    //a bit for every square on the line, square 0 being a8 so the first row is the eighth rank
+    private static final long[] COLUMN_MASKS = initLineMasks(NUM_TILES_PER_ROW, 0, 1);
+    private static final long[] ROW_MASKS = initLineMasks(NUM_TILES_PER_ROW, 1, 0);
+    //diagonals run from a8 to h1 and are indexed by row - column + 7, anti diagonals run from a1 to h8 and are indexed by row + column
+    private static final long[] DIAGONAL_MASKS = initLineMasks(2 * NUM_TILES_PER_ROW - 1, 1, -1);
+    private static final long[] ANTI_DIAGONAL_MASKS = initLineMasks(2 * NUM_TILES_PER_ROW - 1, 1, 1);
+
+    public static final long FIRST_COLUMN = COLUMN_MASKS[0];
+    public static final long SECOND_COLUMN = COLUMN_MASKS[1];
+    public static final long SEVENTH_COLUMN = COLUMN_MASKS[6];
+    public static final long EIGHTH_COLUMN = COLUMN_MASKS[7];
+
+    public static final long FIRST_ROW = ROW_MASKS[0];
+    public static final long SECOND_ROW = ROW_MASKS[1];
+    public static final long THIRD_ROW = ROW_MASKS[2];
+    public static final long FIFTH_ROW = ROW_MASKS[4];
+    public static final long SEVENTH_ROW = ROW_MASKS[6];
+    public static final long EIGHTH_ROW = ROW_MASKS[7];
+
+    private static final String[] SQUARE_NAMES = {
+            "a8", "b8", "c8", "d8", "e8", "f8", "g8", "h8",
+            "a7", "b7", "c7", "d7", "e7", "f7", "g7", "h7",
+            "a6", "b6", "c6", "d6", "e6", "f6", "g6", "h6",
+            "a5", "b5", "c5", "d5", "e5", "f5", "g5", "h5",
+            "a4", "b4", "c4", "d4", "e4", "f4", "g4", "h4",
+            "a3", "b3", "c3", "d3", "e3", "f3", "g3", "h3",
+            "a2", "b2", "c2", "d2", "e2", "f2", "g2", "h2",
+            "a1", "b1", "c1", "d1", "e1", "f1", "g1", "h1"};
+
+    //row * rowWeight + column * columnWeight picks the line of a square, shifted so the lowest line index is 0
+    private static long[] initLineMasks(final int numLines, final int rowWeight, final int columnWeight) {
+        final long[] masks = new long[numLines];
+        final int offset = columnWeight < 0 ? NUM_TILES_PER_ROW - 1 : 0;
+        for (int square = 0; square < NUM_TILES; square++) {
+            masks[getRow(square) * rowWeight + getColumn(square) * columnWeight + offset] |= 1L << square;
         }
-        return Collections.unmodifiableList(columnList);
-    }
-
-    private static List<Boolean> initRow(int rowNumber) {
-        final boolean[] rows = new boolean[NUM_TILES];
-        do {
-            rows[rowNumber] = true;
-            rowNumber ++;
-        } while (rowNumber % NUM_TILES_PER_ROW != 0);
-        final List<Boolean> rowList = new ArrayList<>(NUM_TILES);
-        for (final boolean row : rows) {
-            rowList.add(row);
-        }
-        return Collections.unmodifiableList(rowList);
+        return masks;
     }
 
     private BoardUtils() { throw new RuntimeException("You cannot instantiate BoardUtils"); }
 
     public static boolean isValidTileCoordinate(final int coordinate) { return coordinate >= 0 && coordinate < NUM_TILES; }
 
-    public static String getPositionAtCoordinate(final int destinationCoordinate) { return ALGEBRAIC_NOTATION.get(destinationCoordinate); }
+    public static int getRow(final int coordinate) { return coordinate / NUM_TILES_PER_ROW; }
+
+    public static int getColumn(final int coordinate) { return coordinate % NUM_TILES_PER_ROW; }
+
+    public static boolean isOnSquares(final long squares, final int coordinate) { return (squares & (1L << coordinate)) != 0; }
+
+    public static long columnMask(final int column) { return COLUMN_MASKS[column]; }
+
+    public static long rowMask(final int row) { return ROW_MASKS[row]; }
 
-    public static int getCoordinateAtPosition(final String destinationPosition) { return POSITION_TO_COORDINATE.get(destinationPosition); }
+    public static long diagonalMask(final int coordinate) { return DIAGONAL_MASKS[getRow(coordinate) - getColumn(coordinate) + NUM_TILES_PER_ROW - 1]; }
+
+    public static long antiDiagonalMask(final int coordinate) { return ANTI_DIAGONAL_MASKS[getRow(coordinate) + getColumn(coordinate)]; }
+
+    public static String getPositionAtCoordinate(final int destinationCoordinate) { return SQUARE_NAMES[destinationCoordinate]; }
+
+    public static int getCoordinateAtPosition(final String destinationPosition) {
+        final int column = destinationPosition.length() == 2 ? destinationPosition.charAt(0) - 'a' : -1;
+        final int row = destinationPosition.length() == 2 ? '8' - destinationPosition.charAt(1) : -1;
+        if (column < 0 || column >= NUM_TILES_PER_ROW || row < 0 || row >= NUM_TILES_PER_ROW) {
+            throw new RuntimeException("Invalid square " + destinationPosition);
+        }
+        return row * NUM_TILES_PER_ROW + column;
+    }
 
     public static int mostValuableVictimLeastValuableAggressor(final Move move) {
         final Piece movingPiece = move.getMovedPiece();
@@ -86,6 +91,15 @@ public final class BoardUtils {
         return PieceType.KING.getPieceValue() - movingPiece.getPieceValue();
     }
 
+    public static int mostValuableVictimLeastValuableAggressor(final BitBoard bitBoard, final int move) {
+        final int movingPieceValue = bitBoard.getPieceTypeAt(BitBoard.getFrom(move)).getPieceValue();
+        final PieceType attackedPiece = BitBoard.getFlag(move) == BitBoard.FLAG_EN_PASSANT ? PieceType.PAWN : bitBoard.getPieceTypeAt(BitBoard.getTo(move));
+        if (attackedPiece != null) {
+            return (attackedPiece.getPieceValue() - movingPieceValue + PieceType.KING.getPieceValue()) * 100;
+        }
+        return PieceType.KING.getPieceValue() - movingPieceValue;
+    }
+
     public static List<Move> lastNMoves(final Board board, int N) {
         final List<Move> moveHistory = new ArrayList<>();
         Move currentMove = board.getTransitionMove();
@@ -109,12 +123,4 @@ public final class BoardUtils {
     public static boolean kingThreat(final Move move) { return move.getBoard().currentPlayer().makeMove(move).getLatestBoard().currentPlayer().isInCheck(); }
 
     public static boolean isEndGameScenario(final Board board) { return board.currentPlayer().isInCheckmate() || board.currentPlayer().isInStalemate(); }
-
-    private static Map<String, Integer> initializePositionToCoordinateMap() {
-        final Map<String, Integer> positionToCoordinate = new HashMap<>(64);
-        for (int i = 0; i < NUM_TILES; i++) {
-            positionToCoordinate.put(Objects.requireNonNull(ALGEBRAIC_NOTATION.get(i)), i);
-        }
-        return Collections.unmodifiableMap(positionToCoordinate);
-    }
 }
\ No newline at end of file
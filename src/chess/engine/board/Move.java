@@ -1,5 +1,6 @@
 package chess.engine.board;
 
+import chess.engine.League;
 import chess.engine.pieces.Pawn;
 import chess.engine.pieces.Piece;
 import chess.engine.pieces.Rook;
@@ -70,6 +71,30 @@ public abstract class Move implements Serializable {
 
     public Piece getAttackedPiece() { return null; }
 
+    //key of the board this move leads to, updated from the key of the board it is played on
+    protected long calculateZobristKey(final Piece movedPiece, final Pawn enPassantPawn) {
+        final int castlingRights = BitBoard.calculateCastlingRights(this.board);
+        long zobristKey = this.board.getZobristKey() ^ Zobrist.pieceKey(this.movePiece) ^ Zobrist.pieceKey(movedPiece) ^
+                          Zobrist.sideKey(League.BLACK) ^ Zobrist.castlingKey(castlingRights) ^
+                          Zobrist.castlingKey(BitBoard.updateCastlingRights(castlingRights, this.movePiece.getPiecePosition(), this.destinationCoordinate)) ^
+                          Zobrist.enPassantKey(this.board.getEnPassantPawn()) ^ Zobrist.enPassantKey(enPassantPawn);
+        if (this.getAttackedPiece() != null) {
+            zobristKey ^= Zobrist.pieceKey(this.getAttackedPiece());
+        }
+        return zobristKey;
+    }
+
+    //piece square score of the board this move leads to, updated from the score of the board it is played on
+    protected int calculatePieceSquareScore(final Piece movedPiece) {
+        final int pieceSquareScore = this.board.getPieceSquareScore() - PieceSquareTable.pieceSquareScore(this.movePiece) + PieceSquareTable.pieceSquareScore(movedPiece);
+        return this.getAttackedPiece() != null ? pieceSquareScore - PieceSquareTable.pieceSquareScore(this.getAttackedPiece()) : pieceSquareScore;
+    }
+
+    //pawn key of the board this move leads to, updated from the pawn key of the board it is played on
+    protected long calculatePawnKey(final Piece movedPiece) {
+        return this.board.getPawnKey() ^ Zobrist.pawnKey(this.movePiece) ^ Zobrist.pawnKey(movedPiece) ^ Zobrist.pawnKey(this.getAttackedPiece());
+    }
+
     public Board execute() {
 
         final Builder builder = new Builder(this.board.getMoveCount() + 1, this.board.currentPlayer().getOpponent().getLeague(), null)
@@ -78,8 +103,12 @@ public abstract class Move implements Serializable {
 
         this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movePiece.equals(piece)).forEach(builder::setPiece);
         this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
-        builder.setPiece(this.movePiece.movedPiece(this));
+        final Piece movedPiece = this.movePiece.movedPiece(this);
+        builder.setPiece(movedPiece);
         builder.setTransitionMove(this);
+        builder.setZobristKey(this.calculateZobristKey(movedPiece, null));
+        builder.setPieceSquareScore(this.calculatePieceSquareScore(movedPiece));
+        builder.setPawnKey(this.calculatePawnKey(movedPiece));
 
         return builder.build();
     }
@@ -204,8 +233,12 @@ public abstract class Move implements Serializable {
             this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movePiece.equals(piece)).forEach(builder::setPiece);
             this.board.currentPlayer().getOpponent().getActivePieces().stream().filter(piece -> !piece.equals(this.getAttackedPiece())).forEach(builder::setPiece);
 
-            builder.setPiece(this.movePiece.movedPiece(this));
+            final Piece movedPiece = this.movePiece.movedPiece(this);
+            builder.setPiece(movedPiece);
             builder.setTransitionMove(this);
+            builder.setZobristKey(this.calculateZobristKey(movedPiece, null));
+            builder.setPieceSquareScore(this.calculatePieceSquareScore(movedPiece));
+            builder.setPawnKey(this.calculatePawnKey(movedPiece));
 
             return builder.build();
         }
@@ -242,6 +275,7 @@ public abstract class Move implements Serializable {
         public Move getDecoratedMove() { return this.decoratedMove; }
         public Piece getPromotedPiece() { return this.promotedPiece; }
         public Pawn getPromotedPawn() { return this.promotedPawn; }
+        public Piece getMinimaxPromotionPiece() { return this.MinimaxPromotionPiece; }
 
         @Override
         public boolean isPromotionMove() { return true; }
@@ -258,7 +292,13 @@ public abstract class Move implements Serializable {
             pawnMoveBoard.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
 
             this.promotedPiece = this.MinimaxPromotionPiece;
-            builder.setPiece(this.MinimaxPromotionPiece.movedPiece(this));
+            final Piece promotedPiece = this.MinimaxPromotionPiece.movedPiece(this);
+            builder.setPiece(promotedPiece);
+            //swap the pawn the decorated move left on the last row for the promoted piece
+            builder.setZobristKey(pawnMoveBoard.getZobristKey() ^ Zobrist.pieceKey(this.promotedPawn.movedPiece(this)) ^ Zobrist.pieceKey(promotedPiece));
+            builder.setPieceSquareScore(pawnMoveBoard.getPieceSquareScore() - PieceSquareTable.pieceSquareScore(this.promotedPawn.movedPiece(this)) +
+                                        PieceSquareTable.pieceSquareScore(promotedPiece));
+            builder.setPawnKey(pawnMoveBoard.getPawnKey() ^ Zobrist.pawnKey(this.promotedPawn.movedPiece(this)));
             return builder.build();
         }
 
@@ -297,6 +337,9 @@ public abstract class Move implements Serializable {
 
             builder.setPiece(movedPawn);
             builder.setTransitionMove(this);
+            builder.setZobristKey(this.calculateZobristKey(movedPawn, movedPawn));
+            builder.setPieceSquareScore(this.calculatePieceSquareScore(movedPawn));
+            builder.setPawnKey(this.calculatePawnKey(movedPawn));
             return builder.build();
         }
 
@@ -337,9 +380,15 @@ public abstract class Move implements Serializable {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movePiece.movedPiece(this));
-            builder.setPiece(new Rook(this.castleRook.getLeague(), this.castleRookDestination, false));
+            final Piece movedKing = this.movePiece.movedPiece(this);
+            final Rook movedRook = new Rook(this.castleRook.getLeague(), this.castleRookDestination, false);
+            builder.setPiece(movedKing);
+            builder.setPiece(movedRook);
             builder.setTransitionMove(this);
+            builder.setZobristKey(this.calculateZobristKey(movedKing, null) ^ Zobrist.pieceKey(this.castleRook) ^ Zobrist.pieceKey(movedRook));
+            builder.setPieceSquareScore(this.calculatePieceSquareScore(movedKing) - PieceSquareTable.pieceSquareScore(this.castleRook) +
+                                        PieceSquareTable.pieceSquareScore(movedRook));
+            builder.setPawnKey(this.calculatePawnKey(movedKing));
             return builder.build();
         }
 
@@ -0,0 +1,168 @@
+package chess.engine.board;
+
+import chess.engine.League;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.PieceType;
+
+public final class PieceSquareTable {
+
+    private static final int[] kingEvaluation = {
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -20,-30,-30,-40,-40,-30,-30,-20,
+            -10,-20,-20,-20,-20,-20,-20,-10,
+            20, 20,  0,  0,  0,  0, 20, 20,
+            20, 30, 10,  0,  0, 10, 30, 20
+    };
+
+    private static final int[] queenEvaluation = {
+            -20,-10,-10, -5, -5,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5,  5,  5,  5,  0,-10,
+            -5,  0,  5,  5,  5,  5,  0, -5,
+            0,  0,  5,  5,  5,  5,  0, -5,
+            -10,  5,  5,  5,  5,  5,  0,-10,
+            -10,  0,  5,  0,  0,  0,  0,-10,
+            -20,-10,-10, -5, -5,-10,-10,-20
+    };
+
+    private static final int[] rookEvaluation = {
+            0,  0,  0,  0,  0,  0,  0,  0,
+            5, 20, 20, 20, 20, 20, 20,  5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            0,  0,  0,  5,  5,  0,  0,  0
+    };
+
+    private static final int[] bishopEvaluation = {
+            -20,-10,-10,-10,-10,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5, 10, 10,  5,  0,-10,
+            -10,  5,  5, 10, 10,  5,  5,-10,
+            -10,  0, 10, 10, 10, 10,  0,-10,
+            -10, 10, 10, 10, 10, 10, 10,-10,
+            -10,  5,  0,  0,  0,  0,  5,-10,
+            -20,-10,-10,-10,-10,-10,-10,-20
+    };
+
+    private static final int[] knightEvaluation = {
+            -50,-40,-30,-30,-30,-30,-40,-50,
+            -40,-20,  0,  0,  0,  0,-20,-40,
+            -30,  0, 10, 15, 15, 10,  0,-30,
+            -30,  5, 15, 20, 20, 15,  5,-30,
+            -30,  0, 15, 20, 20, 15,  0,-30,
+            -30,  5, 10, 15, 15, 10,  5,-30,
+            -40,-20,  0,  5,  5,  0,-20,-40,
+            -50,-40,-30,-30,-30,-30,-40,-50
+    };
+
+    private static final int[] pawnEvaluation = {
+            0,  0,  0,  0,  0,  0,  0,  0,
+            75, 75, 75, 75, 75, 75, 75, 75,
+            25, 25, 29, 29, 29, 29, 25, 25,
+            5,  5, 10, 55, 55, 10,  5,  5,
+            0,  0,  0, 20, 20,  0,  0,  0,
+            5, -5,-10,  0,  0,-10, -5,  5,
+            5, 10, 10,-20,-20, 10, 10,  5,
+            0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    //with the queens gone the king comes out to the centre
+    private static final int[] kingEndgameEvaluation = {
+            -50,-40,-30,-20,-20,-30,-40,-50,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -50,-30,-30,-30,-30,-30,-30,-50
+    };
+
+    //every pawn counts for more the closer it is to promoting, passed or not
+    private static final int[] pawnEndgameEvaluation = {
+            0,  0,  0,  0,  0,  0,  0,  0,
+            90, 90, 90, 90, 90, 90, 90, 90,
+            60, 60, 60, 60, 60, 60, 60, 60,
+            40, 40, 40, 40, 40, 40, 40, 40,
+            25, 25, 25, 25, 25, 25, 25, 25,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            10, 10, 10, 10, 10, 10, 10, 10,
+            0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    //material plus position value, indexed by BitBoard.pieceIndex then square, black reading its tables from the other end of the board
+    private static final int[][] PIECE_SQUARE_VALUES = initPieceSquareValues();
+
+    private static int[][] initPieceSquareValues() {
+        final int[][] pieceSquareValues = new int[BitBoard.NUM_PIECE_SETS][BoardUtils.NUM_TILES];
+        for (final League league : League.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                final int[] positionValue = positionValue(pieceType), endgamePositionValue = endgamePositionValue(pieceType);
+                final int[] pieceSquareValue = pieceSquareValues[BitBoard.pieceIndex(pieceType, league)];
+                for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                    final int tableSquare = league.isWhite() ? square : BoardUtils.NUM_TILES - 1 - square;
+                    pieceSquareValue[square] = packScore(pieceType.getPieceValue() + positionValue[tableSquare], pieceType.getPieceValue() + endgamePositionValue[tableSquare]);
+                }
+            }
+        }
+        return pieceSquareValues;
+    }
+
+    //the middlegame score sits in the low 16 bits and the endgame score above it, so one addition updates both
+    public static int packScore(final int middlegameScore, final int endgameScore) { return (endgameScore << 16) + middlegameScore; }
+
+    public static int middlegameScore(final int score) { return (short) score; }
+
+    public static int endgameScore(final int score) { return (short) ((score + 0x8000) >> 16); }
+
+    public static int pieceSquareValue(final PieceType pieceType, final League league, final int square) { return PIECE_SQUARE_VALUES[BitBoard.pieceIndex(pieceType, league)][square]; }
+
+    //the piece square score of a position is white's packed values minus black's, Board and BitBoard carry it and moves update it by these deltas
+    public static int pieceSquareScore(final int pieceIndex, final int square) { return pieceIndex < 6 ? PIECE_SQUARE_VALUES[pieceIndex][square] : -PIECE_SQUARE_VALUES[pieceIndex][square]; }
+
+    public static int pieceSquareScore(final Piece piece) { return pieceSquareScore(BitBoard.pieceIndex(piece.getPieceType(), piece.getLeague()), piece.getPiecePosition()); }
+
+    public static int calculatePieceSquareScore(final Board board) {
+        int pieceSquareScore = 0;
+        for (final Piece piece : board.getAllPieces()) {
+            pieceSquareScore += pieceSquareScore(piece);
+        }
+        return pieceSquareScore;
+    }
+
+    private PieceSquareTable() { throw new RuntimeException("You cannot instantiate PieceSquareTable"); }
+
+    private static int[] endgamePositionValue(final PieceType pieceType) {
+        switch (pieceType) {
+            case KING:
+                return kingEndgameEvaluation;
+            case PAWN:
+                return pawnEndgameEvaluation;
+            default:
+                return positionValue(pieceType);
+        }
+    }
+
+    private static int[] positionValue(final PieceType pieceType) {
+        switch (pieceType) {
+            case KING:
+                return kingEvaluation;
+            case QUEEN:
+                return queenEvaluation;
+            case ROOK:
+                return rookEvaluation;
+            case BISHOP:
+                return bishopEvaluation;
+            case KNIGHT:
+                return knightEvaluation;
+            default:
+                return pawnEvaluation;
+        }
+    }
+}
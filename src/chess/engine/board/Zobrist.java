@@ -0,0 +1,73 @@
+package chess.engine.board;
+
+import chess.engine.League;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.PieceType;
+
+import java.util.Random;
+
+public final class Zobrist {
+
+    //fixed seed so the same position gets the same key in every run
+    private static final long SEED = 0x5EEDC0FFEEL;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoard.NUM_PIECE_SETS][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() { throw new RuntimeException("You cannot instantiate Zobrist"); }
+
+    public static long pieceKey(final int pieceIndex, final int square) { return PIECE_KEYS[pieceIndex][square]; }
+
+    public static long pieceKey(final Piece piece) { return PIECE_KEYS[BitBoard.pieceIndex(piece.getPieceType(), piece.getLeague())][piece.getPiecePosition()]; }
+
+    //pieces other than pawns leave the pawn key alone
+    public static long pawnKey(final Piece piece) { return piece != null && piece.getPieceType() == PieceType.PAWN ? pieceKey(piece) : 0; }
+
+    public static long sideKey(final League league) { return league.isWhite() ? 0 : BLACK_TO_MOVE_KEY; }
+
+    public static long castlingKey(final int castlingRights) { return CASTLING_KEYS[castlingRights]; }
+
+    //only the column matters, the square behind the pawn follows from the side to move
+    public static long enPassantKey(final int enPassantSquare) { return enPassantSquare == BitBoard.NO_SQUARE ? 0 : EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILES_PER_ROW]; }
+
+    public static long enPassantKey(final Pawn enPassantPawn) { return enPassantPawn == null ? 0 : EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW]; }
+
+    //the pawns alone, for tables of pawn structure
+    public static long calculatePawnKey(final long whitePawns, final long blackPawns) {
+        long pawnKey = 0;
+        for (long pawns = whitePawns; pawns != 0; pawns &= pawns - 1) {
+            pawnKey ^= PIECE_KEYS[BitBoard.pieceIndex(PieceType.PAWN, League.WHITE)][Long.numberOfTrailingZeros(pawns)];
+        }
+        for (long pawns = blackPawns; pawns != 0; pawns &= pawns - 1) {
+            pawnKey ^= PIECE_KEYS[BitBoard.pieceIndex(PieceType.PAWN, League.BLACK)][Long.numberOfTrailingZeros(pawns)];
+        }
+        return pawnKey;
+    }
+
+    public static long calculateKey(final Board board) {
+        long key = 0;
+        for (final Piece piece : board.getAllPieces()) {
+            key ^= pieceKey(piece);
+        }
+        return key ^ sideKey(board.currentPlayer().getLeague()) ^ castlingKey(BitBoard.calculateCastlingRights(board)) ^ enPassantKey(board.getEnPassantPawn());
+    }
+}
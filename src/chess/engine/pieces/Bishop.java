@@ -1,58 +1,22 @@
 package chess.engine.pieces;
 
 import chess.engine.League;
+import chess.engine.board.AttackTables;
 import chess.engine.board.Board;
-import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
-import chess.engine.board.Tile;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
-
-import static chess.engine.board.Move.*;
 
 public final class Bishop extends Piece{
 
-    private static final int[] MOVE_VECTOR_COORDINATE = {-9, -7, 7, 9};
-
     public Bishop(final League league, final int piecePosition) { super(PieceType.BISHOP, piecePosition, league, true); }
 
     public Bishop(final League league, final int piecePosition, final boolean isFirstMove) { super(PieceType.BISHOP, piecePosition, league, isFirstMove); }
 
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int CoordinateOFFSET : MOVE_VECTOR_COORDINATE) {
-
-            int destinationCoordinate = this.piecePosition;
-
-            while (BoardUtils.isValidTileCoordinate(destinationCoordinate)) {
-
-                if (isEighthColumnExclusion(destinationCoordinate, CoordinateOFFSET) ||
-                    isFirstColumnExclusion(destinationCoordinate, CoordinateOFFSET)) {
-                    break;
-                }
-
-                destinationCoordinate += CoordinateOFFSET;
-                if (BoardUtils.isValidTileCoordinate(destinationCoordinate)) {
-                    final Tile candidateDestinationTile = board.getTile(destinationCoordinate);
-
-                    if (!candidateDestinationTile.isTileOccupied() && this.isLegalMove(board, destinationCoordinate)) {
-                        legalMoves.add(new MajorMove(board, this, destinationCoordinate));
-                    } else if (candidateDestinationTile.isTileOccupied()) {
-                        final Piece pieceDestination = candidateDestinationTile.getPiece();
-                        final League league = pieceDestination.getLeague();
-                        if (this.getLeague() != league && this.isLegalMove(board, destinationCoordinate)) {
-                            legalMoves.add(new MajorAttackMove(board, this, destinationCoordinate, pieceDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-        return Collections.unmodifiableList(legalMoves);
+    protected Collection<Move> calculateMoves(final Board board, final boolean checkLegality) {
+        return Collections.unmodifiableList(this.calculateMoves(board, AttackTables.bishopAttacks(this.piecePosition, board.getOccupancy()), checkLegality));
     }
 
     @Override
@@ -62,8 +26,4 @@ public final class Bishop extends Piece{
     public String toString() {
         return PieceType.BISHOP.toString();
     }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOFFSET) { return BoardUtils.FIRST_COLUMN.get(currentPosition) && (candidateOFFSET == -9 || candidateOFFSET == 7); }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOFFSET) { return BoardUtils.EIGHTH_COLUMN.get(currentPosition) && (candidateOFFSET == 9 || candidateOFFSET == -7); }
 }
\ No newline at end of file
@@ -1,11 +1,10 @@
 package chess.engine.pieces;
 
 import chess.engine.League;
+import chess.engine.board.AttackTables;
 import chess.engine.board.Board;
-import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
 import chess.engine.board.Tile;
-import chess.engine.player.Player;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,7 +19,6 @@ public final class King extends Piece{
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
 
-    private static final int[] MOVE_VECTOR_COORDINATE = {-9, -8, -7, -1, 1, 7, 8, 9};
     public King(final League league, final int piecePosition, final boolean isFirstMove,
                 final boolean isCastled, final boolean kingSideCastleCapable, final boolean queenSideCastleCapable) {
         super(PieceType.KING, piecePosition, league, isFirstMove);
@@ -39,9 +37,14 @@ public final class King extends Piece{
         return this.isCastled;
     }
 
-    public Collection<Move> calculateKingCastle(final Board board, final Collection<Move> opponentLegals) {
+    public boolean isKingSideCastleCapable() { return this.kingSideCastleCapable; }
+
+    public boolean isQueenSideCastleCapable() { return this.queenSideCastleCapable; }
+
+    public Collection<Move> calculateKingCastle(final Board board) {
 
         final List<Move> kingCastle = new ArrayList<>();
+        final League opponentLeague = this.getLeague().isWhite() ? League.BLACK : League.WHITE;
         if (this.isFirstMove() && !board.currentPlayer().isInCheck()) {
             if (this.kingSideCastleCapable) {
                 //king side
@@ -50,8 +53,8 @@ public final class King extends Piece{
                     final Tile rookTile = board.getTile(this.getLeague().isWhite() ? 63 : 7);
 
                     if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                        if (Player.calculateAttacksOnTile(this.getLeague().isWhite() ? 61 : 5, opponentLegals).isEmpty() &&
-                                Player.calculateAttacksOnTile(this.getLeague().isWhite() ? 62 : 6, opponentLegals).isEmpty() &&
+                        if (!board.isSquareAttacked(this.getLeague().isWhite() ? 61 : 5, opponentLeague) &&
+                                !board.isSquareAttacked(this.getLeague().isWhite() ? 62 : 6, opponentLeague) &&
                                 rookTile.getPiece().getPieceType().isRook()) {
 
                             kingCastle.add(new KingSideCastleMove(board, this, this.getLeague().isWhite() ? 62 : 6, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), this.getLeague().isWhite() ? 61 : 5));
@@ -66,8 +69,8 @@ public final class King extends Piece{
                     final Tile rookTile = board.getTile(this.getLeague().isWhite() ? 56 : 0);
 
                     if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                        if (Player.calculateAttacksOnTile(this.getLeague().isWhite() ? 58 : 2, opponentLegals).isEmpty() &&
-                                Player.calculateAttacksOnTile(this.getLeague().isWhite() ? 59 : 3, opponentLegals).isEmpty() &&
+                        if (!board.isSquareAttacked(this.getLeague().isWhite() ? 58 : 2, opponentLeague) &&
+                                !board.isSquareAttacked(this.getLeague().isWhite() ? 59 : 3, opponentLeague) &&
                                 rookTile.getPiece().getPieceType().isRook()) {
 
                             kingCastle.add(new QueenSideCastleMove(board, this, this.getLeague().isWhite() ? 58 : 2, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), this.getLeague().isWhite() ? 59 : 3));
@@ -81,38 +84,10 @@ public final class King extends Piece{
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOFFSET : MOVE_VECTOR_COORDINATE) {
-
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOFFSET;
-
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                if (isFirstColumnExclusion(this.piecePosition, currentCandidateOFFSET) ||
-                        isEighthColumnExclusion(this.piecePosition, currentCandidateOFFSET)) {
-                    continue;
-                }
-
-                if (!candidateDestinationTile.isTileOccupied() && this.isLegalMove(board, candidateDestinationCoordinate)) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-
-                } else if (candidateDestinationTile.isTileOccupied()) {
-                    final Piece pieceDestination = candidateDestinationTile.getPiece();
-                    final League league = pieceDestination.getLeague();
-
-                    if (this.getLeague() != league && this.isLegalMove(board, candidateDestinationCoordinate)) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceDestination));
-                    }
-                }
-            }
-        }
-        if (!this.isCastled) {
-            try {
-                legalMoves.addAll(calculateKingCastle(board, board.currentPlayer().getOpponent().getLegalMoves()));
-            } catch (final NullPointerException ignored) {}
+    protected Collection<Move> calculateMoves(final Board board, final boolean checkLegality) {
+        final List<Move> legalMoves = this.calculateMoves(board, AttackTables.kingAttacks(this.piecePosition), checkLegality);
+        if (checkLegality && !this.isCastled) {
+            legalMoves.addAll(calculateKingCastle(board));
         }
         return Collections.unmodifiableList(legalMoves);
     }
@@ -124,8 +99,4 @@ public final class King extends Piece{
 
     @Override
     public String toString() { return PieceType.KING.toString(); }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOFFSET) { return BoardUtils.FIRST_COLUMN.get(currentPosition) && (candidateOFFSET == -9 || candidateOFFSET == 7 || candidateOFFSET == -1); }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOFFSET) { return BoardUtils.EIGHTH_COLUMN.get(currentPosition) && (candidateOFFSET == 9 || candidateOFFSET == -7 || candidateOFFSET == 1); }
 }
\ No newline at end of file
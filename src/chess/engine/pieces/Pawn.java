@@ -21,7 +21,7 @@ public final class Pawn extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
+    protected Collection<Move> calculateMoves(final Board board, final boolean checkLegality) {
         final List<Move> legalMoves = new ArrayList<>();
 
         for (final int currentCandidateOFFSET : MOVE_VECTOR_COORDINATE) {
@@ -33,7 +33,7 @@ public final class Pawn extends Piece {
             }
             if (currentCandidateOFFSET == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
 
-                if (this.league.isPawnPromotionSquare(candidateDestinationCoordinate) && this.isLegalMove(board, candidateDestinationCoordinate)) {
+                if (this.league.isPawnPromotionSquare(candidateDestinationCoordinate) && this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
 
                     final PawnMove pawnMove = new PawnMove(board, this, candidateDestinationCoordinate);
 
@@ -42,28 +42,26 @@ public final class Pawn extends Piece {
                     legalMoves.add(new PawnPromotion(pawnMove, new Bishop(this.league, candidateDestinationCoordinate, false)));
                     legalMoves.add(new PawnPromotion(pawnMove, new Knight(this.league, candidateDestinationCoordinate, false)));
 
-                } else if (!this.league.isPawnPromotionSquare(candidateDestinationCoordinate) && this.isLegalMove(board, candidateDestinationCoordinate)){
+                } else if (!this.league.isPawnPromotionSquare(candidateDestinationCoordinate) && this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)){
                     legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
                 }
 
 
             } else if (currentCandidateOFFSET == 16 && this.isFirstMove() &&
-                    ((BoardUtils.SECOND_ROW.get(this.piecePosition) && this.getLeague().isBlack()) ||
-                            (BoardUtils.SEVENTH_ROW.get(this.piecePosition) && this.getLeague().isWhite()))) {
+                    BoardUtils.isOnSquares(this.getLeague().isBlack() ? BoardUtils.SECOND_ROW : BoardUtils.SEVENTH_ROW, this.piecePosition)) {
 
                 final int behindCandidateDestinationCoordinate = this.piecePosition + (this.getLeague().getDirection() * 8);
                 if (!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
                         !board.getTile(candidateDestinationCoordinate).isTileOccupied() &&
-                        this.isLegalMove(board, candidateDestinationCoordinate)) {
+                        this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
                     legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
                 }
             } else if (currentCandidateOFFSET == 7 &&
-                    !((BoardUtils.EIGHTH_COLUMN.get(this.piecePosition) && this.league.isWhite()) ||
-                            (BoardUtils.FIRST_COLUMN.get(this.piecePosition) && this.league.isBlack()))) {
+                    !BoardUtils.isOnSquares(this.league.isWhite() ? BoardUtils.EIGHTH_COLUMN : BoardUtils.FIRST_COLUMN, this.piecePosition)) {
                 if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
                     final Piece pieceDestination = board.getTile(candidateDestinationCoordinate).getPiece();
 
-                    if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate)) {
+                    if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
 
                         if (this.league.isPawnPromotionSquare(candidateDestinationCoordinate)) {
 
@@ -84,20 +82,19 @@ public final class Pawn extends Piece {
                     if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.league.getOppositeDirection()))) {
                         final Piece pieceDestination = board.getEnPassantPawn();
 
-                        if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate)) {
+                        if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
                             legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceDestination));
                         }
                     }
                 }
 
             } else if (currentCandidateOFFSET == 9 &&
-                    !((BoardUtils.FIRST_COLUMN.get(this.piecePosition) && this.league.isWhite()) ||
-                            (BoardUtils.EIGHTH_COLUMN.get(this.piecePosition) && this.league.isBlack()))) {
+                    !BoardUtils.isOnSquares(this.league.isWhite() ? BoardUtils.FIRST_COLUMN : BoardUtils.EIGHTH_COLUMN, this.piecePosition)) {
                 if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
 
                     final Piece pieceDestination = board.getTile(candidateDestinationCoordinate).getPiece();
 
-                    if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate)) {
+                    if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
 
                         if (this.league.isPawnPromotionSquare(candidateDestinationCoordinate)) {
 
@@ -117,7 +114,7 @@ public final class Pawn extends Piece {
                     if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.league.getOppositeDirection()))) {
                         final Piece pieceDestination = board.getEnPassantPawn();
 
-                        if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate)) {
+                        if (this.league != pieceDestination.getLeague() && this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
                             legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceDestination));
                         }
                     }
@@ -3,12 +3,12 @@ package chess.engine.pieces;
 import chess.engine.League;
 import chess.engine.board.Board;
 import chess.engine.board.Move;
-import chess.engine.board.MoveTransition;
+import chess.engine.board.Tile;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
-
-import static chess.engine.board.Move.*;
+import java.util.List;
 
 public abstract class Piece implements Serializable {
 
@@ -55,17 +55,28 @@ public abstract class Piece implements Serializable {
         return this.isFirstMove;
     }
 
-    public abstract Collection<Move> calculateLegalMoves(final Board board);
+    public final Collection<Move> calculateLegalMoves(final Board board) { return this.calculateMoves(board, true); }
+
+    //king safety of these moves is left to Player.makeMove, which is how the board builds each player's move list
+    public final Collection<Move> calculateStandardMoves(final Board board) { return this.calculateMoves(board, false); }
+
+    protected abstract Collection<Move> calculateMoves(final Board board, final boolean checkLegality);
+
+    protected boolean isLegalMove(final Board board, final int candidateDestinationCoordinate, final boolean checkLegality) { return !checkLegality || board.isLegalMove(this, candidateDestinationCoordinate); }
 
-    protected boolean isLegalMove(final Board board, final int candidateDestinationCoordinate) {
-        try {
-            //make a move, if the move is safe, return true, else false
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(new MajorMove(board, this, candidateDestinationCoordinate));
-            return moveTransition.getMoveStatus().isDone();
-        } catch (final RuntimeException e) {
-            //for catching null board at the beginning of the game
-            return true;
+    //a move onto every attacked square not held by a piece of the same league, capturing whatever stands there
+    protected List<Move> calculateMoves(final Board board, final long attacks, final boolean checkLegality) {
+        final List<Move> legalMoves = new ArrayList<>();
+        for (long targets = attacks & ~board.getOccupancy(this.league); targets != 0; targets &= targets - 1) {
+            final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(targets);
+            if (this.isLegalMove(board, candidateDestinationCoordinate, checkLegality)) {
+                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
+                legalMoves.add(candidateDestinationTile.isTileOccupied() ?
+                        new Move.MajorAttackMove(board, this, candidateDestinationCoordinate, candidateDestinationTile.getPiece()) :
+                        new Move.MajorMove(board, this, candidateDestinationCoordinate));
+            }
         }
+        return legalMoves;
     }
 
     public abstract Piece movedPiece(final Move move);
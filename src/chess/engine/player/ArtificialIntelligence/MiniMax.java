@@ -1,195 +1,1004 @@
 package chess.engine.player.ArtificialIntelligence;
 
+import chess.engine.board.BitBoard;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
 import chess.engine.board.MoveTransition;
+import chess.engine.pieces.PieceType;
 import chess.engine.player.Player;
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.Ordering;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.TimeUnit;
 
 import static chess.engine.board.BoardUtils.mostValuableVictimLeastValuableAggressor;
 
 public final class MiniMax {
 
+    public static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 16;
+    //the clock is shared out as if this many moves were still to be played
+    private static final int EXPECTED_MOVES_LEFT = 30;
+    private static final long MIN_TIME_BUDGET = 100;
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    //half width of the window the next iteration searches around the score of the previous one
+    private static final int ASPIRATION_WINDOW = PieceType.PAWN.getPieceValue() / 2;
+    //history scores are halved once one of them grows past this, so recent cutoffs weigh more
+    private static final int HISTORY_LIMIT = 1 << 16;
+    //nodes closer to the leaves are searched alone, their subtrees are too small to pay for a task each
+    private static final int MIN_SPLIT_DEPTH = 3;
+    //listeners hear of the search at most this often, apart from each depth it finishes
+    private static final long PROGRESS_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    //each search thread looks at the clock for progress once every this many nodes of its own
+    private static final int PROGRESS_NODES = 1 << 12;
+
     private final StandardBoardEvaluation evaluator;
+    private final TranspositionTable transpositionTable;
+    //shared by every search thread, a lost update only costs a little ordering
+    private final int[][] history;
+    private final Algorithm algorithm;
+    private final Parallelism parallelism;
     private final int searchDepth, nThreads;
-    private int quiescenceCount, moveCount;
-    private static final int MAX_QUIESCENCE = 5000 * 5;
-    private volatile boolean gameEnd;
+    //root moves searched so far by the current root search
+    private final AtomicInteger moveCount;
+    private int rootScore;
+    private volatile RootResult rootResult;
+    //a capture that cannot lift the stand pat score this close to the bound is not searched
+    private static final int DELTA_MARGIN = 2 * PieceType.PAWN.getPieceValue();
+    private volatile boolean gameEnd, helpersStopped;
+    private volatile long deadline, timeBudget;
+    //a search at a time, counted so a handle of a finished search cannot reach the next one
+    private final AtomicBoolean searching;
+    private volatile int search;
+    //the latest search a handle stopped, the search ids only grow so a stale handle never stops a later one
+    private final AtomicInteger stoppedSearch;
+    //the best move of the last iteration that finished
+    private volatile Move bestMoveSoFar;
+    private final List<SearchListener> searchListeners;
+    //every node of every thread, striped so the threads do not fight over one counter
+    private final LongAdder nodes;
+    private final AtomicLong lastProgress;
+    private volatile long searchStart;
+    //the position and depth of the root search under way, for the progress reported from inside the tree
+    private volatile Board rootBoard;
+    private volatile int rootDepth;
 
-    private enum MoveSorter {
+    private static final ThreadLocal<MoveStack> threadMoveStack = ThreadLocal.withInitial(MoveStack::new);
+    private static final AtomicInteger rootSearches = new AtomicInteger();
 
-        STANDARD {
-            @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mostValuableVictimLeastValuableAggressor(move2), mostValuableVictimLeastValuableAggressor(move1))
-                        .result()).immutableSortedCopy(moves);
-            }
-        },
+    //one pool for every search, so no search waits for threads to start and each thread keeps its move stack,
+    //daemon threads so an idle pool never keeps the program alive
+    private static final ExecutorService searchPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreads("search"));
+    //runs each asynchronous search from its root, apart from the search pool so a root never waits on the threads it hands its moves to
+    private static final ExecutorService asyncPool = Executors.newCachedThreadPool(daemonThreads("async search"));
+    //young brothers are searched by work stealing, a thread waiting for its siblings searches whatever is left meanwhile
+    private static final ForkJoinPool splitPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    //a stealing thread may start a task while one of its own is waiting, so each task takes a stack of its own from here
+    private static final Queue<MoveStack> spareMoveStacks = new ConcurrentLinkedQueue<>();
+
+    public enum Algorithm {
+        ALPHA_BETA,
+        //every move after the first is only proven worse with a zero window and searched in full when it is not,
+        //iterations of the deepening search start from a window around the score of the previous one
+        PRINCIPAL_VARIATION;
+
+        public boolean isPrincipalVariation() { return this == PRINCIPAL_VARIATION; }
+    }
+
+    public enum Parallelism {
+        //every root move is searched by a thread of its own
+        ROOT_SPLIT,
+        //the calling thread searches the root alone while every other thread of the pool deepens the same position,
+        //every second one a ply ahead, and only shares what it finds through the transposition table and the history
+        LAZY_SMP,
+        //at any node deep enough the first move is searched alone for a bound, then all its younger brothers at once,
+        //the ones still running are cancelled as soon as one of them cuts the node off
+        YOUNG_BROTHERS_WAIT
+    }
+
+    private enum MoveSorter {
 
         EXPENSIVE {
+            //checks first, then castling, then by most valuable victim least valuable aggressor,
+            //each move is executed once to score it instead of in every comparison
             @Override
             Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(BoardUtils.kingThreat(move1), BoardUtils.kingThreat(move2))
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mostValuableVictimLeastValuableAggressor(move2), mostValuableVictimLeastValuableAggressor(move1))
-                        .result()).immutableSortedCopy(moves);
+                final Move[] sortedMoves = moves.toArray(new Move[0]);
+                final int[] scores = new int[sortedMoves.length];
+                for (int i = 0; i < sortedMoves.length; i++) {
+                    final Move move = sortedMoves[i];
+                    scores[i] = (BoardUtils.kingThreat(move) ? KING_THREAT_ORDER : 0) + (move.isCastlingMove() ? CASTLE_ORDER : 0) +
+                                mostValuableVictimLeastValuableAggressor(move);
+                }
+                for (int i = 0; i < sortedMoves.length; i++) {
+                    int best = i;
+                    for (int j = i + 1; j < sortedMoves.length; j++) {
+                        if (scores[j] > scores[best]) {
+                            best = j;
+                        }
+                    }
+                    final Move move = sortedMoves[best];
+                    final int score = scores[best];
+                    System.arraycopy(sortedMoves, i, sortedMoves, i + 1, best - i);
+                    System.arraycopy(scores, i, scores, i + 1, best - i);
+                    sortedMoves[i] = move;
+                    scores[i] = score;
+                }
+                return ImmutableList.copyOf(sortedMoves);
             }
         };
 
         abstract Collection<Move> sort(Collection<Move> moves);
+
+        private static final int KING_THREAT_ORDER = 1 << 30, CASTLE_ORDER = 1 << 29, CAPTURE_ORDER = 1 << 25, KILLER_ORDER = 1 << 24;
+
+        //scores every move once: the move the transposition table remembers first, castling next, then by most valuable victim
+        //least valuable aggressor with captures that lose the exchange last
+        static void score(final BitBoard bitBoard, final int[] moves, final int[] scores, final int moveCount, final int transpositionMove) {
+            score(bitBoard, moves, scores, moveCount, transpositionMove, null, null);
+        }
+
+        //as above, but with the killers of the ply and then the quiet moves with the best history between the winning and the losing captures
+        static void score(final BitBoard bitBoard, final int[] moves, final int[] scores, final int moveCount, final int transpositionMove,
+                          final int[] killers, final int[][] history) {
+            for (int i = 0; i < moveCount; i++) {
+                final int move = moves[i];
+                scores[i] = BitBoard.getMoveKey(move) == transpositionMove ? Integer.MAX_VALUE : BitBoard.getFlag(move) == BitBoard.FLAG_CASTLE ? Integer.MAX_VALUE - 1 :
+                            history == null ? captureOrder(bitBoard, move) : historyOrder(bitBoard, move, killers, history);
+            }
+        }
+
+        //brings the best scored of the moves not searched yet to index, keeping generation order on ties,
+        //so a node that cuts off early never orders the rest
+        static int pickNext(final int[] moves, final int[] scores, final int index, final int moveCount) {
+            int best = index;
+            for (int i = index + 1; i < moveCount; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            final int move = moves[best], score = scores[best];
+            System.arraycopy(moves, index, moves, index + 1, best - index);
+            System.arraycopy(scores, index, scores, index + 1, best - index);
+            moves[index] = move;
+            scores[index] = score;
+            return move;
+        }
+
+        private static int historyOrder(final BitBoard bitBoard, final int move, final int[] killers, final int[][] history) {
+            if (!bitBoard.isQuietMove(move)) {
+                final int score = captureOrder(bitBoard, move);
+                return score < 0 ? score : CAPTURE_ORDER + score;
+            }
+            if (move == killers[0]) {
+                return KILLER_ORDER + 1;
+            }
+            if (move == killers[1]) {
+                return KILLER_ORDER;
+            }
+            //equal histories still prefer moving the cheaper piece
+            return (history[BitBoard.getMovedPiece(move)][BitBoard.getTo(move)] << 7) +
+                   mostValuableVictimLeastValuableAggressor(bitBoard, move) / 100;
+        }
+
+        private static int captureOrder(final BitBoard bitBoard, final int move) {
+            final int score = mostValuableVictimLeastValuableAggressor(bitBoard, move);
+            //only a capture by a more valuable piece can lose the exchange, quiet moves score below any capture
+            if (score > PieceType.KING.getPieceValue() && score < PieceType.KING.getPieceValue() * 100) {
+                final int exchange = bitBoard.staticExchangeEvaluation(move);
+                if (exchange < 0) {
+                    return exchange;
+                }
+            }
+            return score;
+        }
     }
 
-    public MiniMax(final int searchDepth) {
+    //move and score buffers for every ply, reused by each search thread
+    private static final class MoveStack {
+        private final int[][] moves = new int[BitBoard.MAX_PLY][BitBoard.MAX_MOVES];
+        private final int[][] scores = new int[BitBoard.MAX_PLY][BitBoard.MAX_MOVES];
+        //the last two quiet moves that cut off the search at each ply
+        private final int[][] killers = new int[BitBoard.MAX_PLY][2];
+        //the root search the stack last served, the killers of any other are forgotten
+        private int rootSearch;
+        //a lazy smp helper stops as soon as the search it helps is over
+        private boolean helper;
+        //the siblings the task using the stack belongs to, if any
+        private SplitPoint splitPoint;
+        //nodes searched with the stack, only to space out the progress checks
+        private int nodes;
+
+        private MoveStack prepare(final int rootSearch, final boolean helper) {
+            if (this.rootSearch != rootSearch) {
+                for (final int[] plyKillers : this.killers) {
+                    Arrays.fill(plyKillers, 0);
+                }
+                this.rootSearch = rootSearch;
+            }
+            this.helper = helper;
+            return this;
+        }
+    }
+
+    //the younger brothers of one node, stopped once the node or any node above it is cut off
+    private static final class SplitPoint {
+        private final SplitPoint parent;
+        private volatile boolean cutOff;
+        //the best score of the node so far, raised by its owner as the brothers it joins come back
+        private volatile int bound;
+
+        private SplitPoint(final SplitPoint parent, final int bound) {
+            this.parent = parent;
+            this.bound = bound;
+        }
+
+        private boolean isCutOff() {
+            for (SplitPoint splitPoint = this; splitPoint != null; splitPoint = splitPoint.parent) {
+                if (splitPoint.cutOff) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    //the best root move so far packed with its score into one long that only ever grows by compare and set, so every thread agrees on it,
+    //a better score for the side to move wins and equal scores go to the move that comes first in the root order
+    private static final class RootResult {
+        private static final int NO_INDEX = -1;
+
+        private final List<Move> rootMoves;
+        private final boolean white;
+        private final AtomicLong best;
+        //the score each root move came back with, only a bound on it when it fell outside its window
+        private final AtomicReferenceArray<Integer> scores;
+
+        private RootResult(final List<Move> rootMoves, final boolean white, final int bound) {
+            this.rootMoves = rootMoves;
+            this.white = white;
+            this.best = new AtomicLong(this.pack(bound, NO_INDEX));
+            this.scores = new AtomicReferenceArray<>(rootMoves.size());
+        }
+
+        //a move ahead of the best one in the root order is searched one wider, so a score equal to the best is proven rather than cut off
+        private int bound(final int index) {
+            final long best = this.best.get();
+            final int score = this.unpackScore(best), bestIndex = unpackIndex(best);
+            if (bestIndex == NO_INDEX || index > bestIndex) {
+                return score;
+            }
+            return this.white ? score - 1 : score + 1;
+        }
+
+        //a score no better than the bound the move was searched against only bounds it, so it never takes the lead
+        private boolean offer(final int index, final int score, final int bound) {
+            this.scores.set(index, score);
+            if (this.white ? score <= bound : score >= bound) {
+                return false;
+            }
+            final long candidate = this.pack(score, index);
+            for (long current = this.best.get(); candidate > current; current = this.best.get()) {
+                if (this.best.compareAndSet(current, candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Move getBestMove() {
+            final int index = unpackIndex(this.best.get());
+            return index == NO_INDEX ? null : this.rootMoves.get(index);
+        }
+
+        private int getBestScore() { return this.unpackScore(this.best.get()); }
+
+        private Map<Move, Integer> getScores() {
+            final ImmutableMap.Builder<Move, Integer> scores = ImmutableMap.builder();
+            for (int index = 0; index < this.rootMoves.size(); index++) {
+                final Integer score = this.scores.get(index);
+                if (score != null) {
+                    scores.put(this.rootMoves.get(index), score);
+                }
+            }
+            return scores.build();
+        }
+
+        //black scores are complemented so better is higher for both sides, earlier moves take the higher low halves
+        private long pack(final int score, final int index) { return ((long) (this.white ? score : ~score) << 32) | (Integer.MAX_VALUE - (index + 1)); }
+
+        private int unpackScore(final long packed) { return this.white ? (int) (packed >> 32) : ~(int) (packed >> 32); }
+
+        private static int unpackIndex(final long packed) { return Integer.MAX_VALUE - (int) packed - 1; }
+    }
+
+    //searches the position a move leads to on a copy of its own, in the split pool
+    private final class SplitTask extends RecursiveTask<Integer> {
+        private final BitBoard bitBoard;
+        private final int move, rootSearch, depth, highest, lowest;
+        private final SplitPoint splitPoint;
+        private final boolean youngerBrother;
+
+        private SplitTask(final BitBoard bitBoard, final int move, final int rootSearch, final SplitPoint splitPoint,
+                          final int depth, final int highest, final int lowest, final boolean youngerBrother) {
+            this.bitBoard = bitBoard;
+            this.move = move;
+            this.rootSearch = rootSearch;
+            this.splitPoint = splitPoint;
+            this.depth = depth;
+            this.highest = highest;
+            this.lowest = lowest;
+            this.youngerBrother = youngerBrother;
+        }
+
+        @Override
+        protected Integer compute() {
+            final MoveStack spare = spareMoveStacks.poll();
+            final MoveStack moveStack = (spare == null ? new MoveStack() : spare).prepare(this.rootSearch, false);
+            moveStack.splitPoint = this.splitPoint;
+            final boolean white = this.bitBoard.getSideToMove().isWhite();
+            //a brother starts from the best score its node has by now rather than the one it had when the brothers were forked
+            final int highest = this.splitPoint != null && !white ? Math.max(this.highest, this.splitPoint.bound) : this.highest;
+            final int lowest = this.splitPoint != null && white ? Math.min(this.lowest, this.splitPoint.bound) : this.lowest;
+            try {
+                return white ? MiniMax.this.searchMax(this.bitBoard, moveStack, this.depth, highest, lowest, this.youngerBrother) :
+                               MiniMax.this.searchMin(this.bitBoard, moveStack, this.depth, highest, lowest, this.youngerBrother);
+            } finally {
+                moveStack.splitPoint = null;
+                spareMoveStacks.offer(moveStack);
+            }
+        }
+    }
+
+    public MiniMax(final int searchDepth) { this(searchDepth, DEFAULT_TRANSPOSITION_TABLE_SIZE); }
+
+    public MiniMax(final int searchDepth, final Algorithm algorithm) { this(searchDepth, DEFAULT_TRANSPOSITION_TABLE_SIZE, algorithm); }
+
+    public MiniMax(final int searchDepth, final Algorithm algorithm, final Parallelism parallelism) { this(searchDepth, DEFAULT_TRANSPOSITION_TABLE_SIZE, algorithm, parallelism); }
+
+    public MiniMax(final int searchDepth, final int transpositionTableSize) { this(searchDepth, transpositionTableSize, Algorithm.ALPHA_BETA); }
+
+    public MiniMax(final int searchDepth, final int transpositionTableSize, final Algorithm algorithm) { this(searchDepth, transpositionTableSize, algorithm, Parallelism.ROOT_SPLIT); }
+
+    //transpositionTableSize in megabytes
+    public MiniMax(final int searchDepth, final int transpositionTableSize, final Algorithm algorithm, final Parallelism parallelism) {
         this.evaluator = new StandardBoardEvaluation();
+        this.algorithm = algorithm;
+        this.parallelism = parallelism;
+        this.transpositionTable = new TranspositionTable(transpositionTableSize);
+        this.history = new int[BitBoard.NUM_PIECE_SETS][BoardUtils.NUM_TILES];
         this.nThreads = Runtime.getRuntime().availableProcessors();
         if (this.nThreads > 4) {
             this.searchDepth = searchDepth + 1;
         } else {
             this.searchDepth = searchDepth;
         }
-        this.moveCount = 0;
-        this.quiescenceCount = 0;
+        this.moveCount = new AtomicInteger();
         this.gameEnd = false;
+        this.deadline = NO_DEADLINE;
+        this.searching = new AtomicBoolean(false);
+        this.stoppedSearch = new AtomicInteger();
+        this.searchListeners = new CopyOnWriteArrayList<>();
+        this.nodes = new LongAdder();
+        this.lastProgress = new AtomicLong();
     }
 
+    public void addSearchListener(final SearchListener searchListener) { this.searchListeners.add(searchListener); }
+
+    public void removeSearchListener(final SearchListener searchListener) { this.searchListeners.remove(searchListener); }
+
     public Move execute(final Board board) {
-        final Player currentPlayer = board.currentPlayer();
+        this.newSearch(SearchLimits.depthOnly());
+        final List<Future<?>> helpers = this.startHelpers(board);
+        try {
+            final Move bestMove = this.searchRoot(board, this.searchDepth, MoveSorter.EXPENSIVE.sort(board.currentPlayer().getLegalMoves()), Integer.MIN_VALUE, Integer.MAX_VALUE);
+            if (!this.isSearchStopped()) {
+                this.bestMoveSoFar = bestMove;
+                this.reportProgress(true);
+            }
+            return bestMove;
+        } finally {
+            this.endSearch(helpers);
+        }
+    }
 
-        final AtomicInteger highestSeenValue = new AtomicInteger(Integer.MIN_VALUE);
-        final AtomicInteger lowestSeenValue = new AtomicInteger(Integer.MAX_VALUE);
-        final AtomicInteger currentValue = new AtomicInteger(0);
+    //searches one ply deeper at a time until the search depth is reached or the share of the clock of the player to move runs out,
+    //then plays the best move of the last iteration that finished
+    public Move executeIterativeDeepening(final Board board) {
+        this.newSearch(SearchLimits.clock(board.currentPlayer()));
+        final List<Future<?>> helpers = this.startHelpers(board);
+        try {
+            return this.iterativeDeepening(board);
+        } finally {
+            this.endSearch(helpers);
+        }
+    }
 
-        final AtomicBoolean isCheckMate = new AtomicBoolean(false);
+    //as executeIterativeDeepening, but within the limits and in the background, the handle stops it or asks for the best move so far
+    public SearchHandle searchAsync(final Board board, final SearchLimits limits) {
+        final int search = this.newSearch(limits);
+        final CompletableFuture<Move> result = CompletableFuture.supplyAsync(() -> {
+            final List<Future<?>> helpers = this.startHelpers(board);
+            try {
+                return this.iterativeDeepening(board);
+            } finally {
+                this.endSearch(helpers);
+            }
+        }, asyncPool);
+        return new SearchHandle(this, search, result);
+    }
+
+    private Move iterativeDeepening(final Board board) {
+        final List<Move> rootMoves = new ArrayList<>(MoveSorter.EXPENSIVE.sort(board.currentPlayer().getLegalMoves()));
+        Move bestMove = null;
+        for (int depth = 1; depth <= this.searchDepth; depth++) {
+            Move move;
+            if (bestMove != null && this.algorithm.isPrincipalVariation()) {
+                final int highest = this.rootScore - ASPIRATION_WINDOW, lowest = this.rootScore + ASPIRATION_WINDOW;
+                move = this.searchRoot(board, depth, rootMoves, highest, lowest);
+                //the score fell outside the window, so it only bounds the true one and the iteration is searched again in full
+                if (!this.isSearchStopped() && (move == null || this.rootScore <= highest || this.rootScore >= lowest)) {
+                    move = this.searchRoot(board, depth, rootMoves, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                }
+            } else {
+                move = this.searchRoot(board, depth, rootMoves, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+            if (this.gameEnd) {
+                return Move.MoveFactory.getNullMove();
+            }
+            if (this.isSearchStopped()) {
+                //a cut short iteration only counts when nothing finished before it, and a search stopped before it scored
+                //any move still plays the one it would have searched first
+                if (bestMove != null) {
+                    return bestMove;
+                }
+                return move != null || rootMoves.isEmpty() ? move : rootMoves.get(0);
+            }
+            bestMove = move;
+            if (bestMove != null) {
+                this.bestMoveSoFar = bestMove;
+                //the next iteration searches the best move first
+                rootMoves.remove(bestMove);
+                rootMoves.add(0, bestMove);
+            }
+            this.reportProgress(true);
+        }
+        return bestMove;
+    }
+
+    private int newSearch(final SearchLimits limits) {
+        if (!this.searching.compareAndSet(false, true)) {
+            throw new RuntimeException("MiniMax is already searching");
+        }
+        this.transpositionTable.newSearch();
+        for (final int[] pieceHistory : this.history) {
+            Arrays.fill(pieceHistory, 0);
+        }
+        this.bestMoveSoFar = null;
+        this.rootResult = null;
+        this.rootBoard = null;
+        this.nodes.reset();
+        this.searchStart = System.nanoTime();
+        this.lastProgress.set(this.searchStart);
+        this.timeBudget = limits.getMoveTime();
+        //a ponder search has no deadline until the ponder hit
+        this.deadline = limits.isPonder() ? NO_DEADLINE : deadlineAfter(this.timeBudget);
+        return ++this.search;
+    }
+
+    private void endSearch(final List<Future<?>> helpers) {
+        this.stopHelpers(helpers);
+        this.searching.set(false);
+    }
+
+    private static long deadlineAfter(final long timeBudget) {
+        return timeBudget == SearchLimits.NO_TIME_LIMIT ? NO_DEADLINE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+    }
+
+    void stop(final int search) { this.stoppedSearch.accumulateAndGet(search, Math::max); }
+
+    //the opponent played the move that was pondered on, so the clock starts running for the search
+    void ponderhit(final int search) {
+        if (this.search == search && this.deadline == NO_DEADLINE) {
+            this.deadline = deadlineAfter(this.timeBudget);
+        }
+    }
+
+    //the best move of the last finished iteration, or of the one still running when none finished yet
+    Move getBestMoveSoFar(final int search) {
+        if (this.search != search) {
+            return null;
+        }
+        return this.getBestMoveSoFar();
+    }
+
+    private Move getBestMoveSoFar() {
+        final Move bestMove = this.bestMoveSoFar;
+        final RootResult rootResult = this.rootResult;
+        return bestMove != null || rootResult == null ? bestMove : rootResult.getBestMove();
+    }
+
+    //whichever thread gets past the interval first reports, the end of a depth always does
+    private void reportProgress(final boolean depthCompleted) {
+        final Board board = this.rootBoard;
+        if (this.searchListeners.isEmpty() || board == null) {
+            return;
+        }
+        final long now = System.nanoTime(), lastProgress = this.lastProgress.get();
+        if (!depthCompleted && (now - lastProgress < PROGRESS_INTERVAL || !this.lastProgress.compareAndSet(lastProgress, now))) {
+            return;
+        }
+        this.lastProgress.set(now);
+        final RootResult rootResult = this.rootResult;
+        final Move bestMove = this.getBestMoveSoFar();
+        final int depth = this.rootDepth;
+        final SearchProgress searchProgress = new SearchProgress(depth, depthCompleted, this.nodes.sum(), now - this.searchStart, bestMove, board,
+                this.principalVariation(board, bestMove, depth), this.moveCount.get(), rootResult == null ? 0 : rootResult.rootMoves.size());
+        for (final SearchListener searchListener : this.searchListeners) {
+            searchListener.onProgress(searchProgress);
+        }
+    }
+
+    //the best move followed by the moves the transposition table remembers for the positions after it, walked on the bitboard alone
+    //and left encoded for the progress to decode should a listener ask for them
+    private int[] principalVariation(final Board board, final Move bestMove, final int depth) {
+        if (bestMove == null) {
+            return new int[0];
+        }
+        final int[] principalVariation = new int[depth];
+        final BitBoard bitBoard = BitBoard.fromBoard(board);
+        final int[] moves = new int[BitBoard.MAX_MOVES];
+        int length = 0, move = BitBoard.encodeMove(bestMove);
+        while (move != TranspositionTable.NO_MOVE && length < depth) {
+            principalVariation[length++] = move;
+            bitBoard.makeMove(move);
+            final int transpositionMove = TranspositionTable.getMove(this.transpositionTable.probe(bitBoard.getZobristKey()));
+            move = TranspositionTable.NO_MOVE;
+            final int moveCount = transpositionMove == TranspositionTable.NO_MOVE ? 0 : bitBoard.generateLegalMoves(moves);
+            for (int i = 0; i < moveCount; i++) {
+                if (BitBoard.getMoveKey(moves[i]) == transpositionMove) {
+                    move = moves[i];
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(principalVariation, length);
+    }
 
-        final AtomicReference<Move> bestMove = new AtomicReference<>();
+    //every thread looks at the clock every few thousand nodes, so progress is reported while a root move is still being searched
+    private void countNode(final MoveStack moveStack) {
+        this.nodes.increment();
+        if (++moveStack.nodes % PROGRESS_NODES == 0) {
+            this.reportProgress(false);
+        }
+    }
 
-        final ExecutorService executorService = Executors.newFixedThreadPool(this.nThreads);
+    private static ThreadFactory daemonThreads(final String name) {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
-        for (final Move move : MoveSorter.EXPENSIVE.sort((currentPlayer.getLegalMoves()))) {
-            final MoveTransition moveTransition = currentPlayer.makeMove(move);
-            this.quiescenceCount = 0;
+    //with lazy smp every other thread of the pool searches the board until the search is over, for the transposition table alone
+    private List<Future<?>> startHelpers(final Board board) {
+        final List<Future<?>> helpers = new ArrayList<>();
+        if (this.parallelism == Parallelism.LAZY_SMP) {
+            this.helpersStopped = false;
+            for (int helper = 1; helper < this.nThreads; helper++) {
+                final int depthOffset = helper % 2;
+                helpers.add(searchPool.submit(() -> this.helperSearch(board, depthOffset)));
+            }
+        }
+        return helpers;
+    }
+
+    private void helperSearch(final Board board, final int depthOffset) {
+        final BitBoard bitBoard = BitBoard.fromBoard(board);
+        final MoveStack moveStack = threadMoveStack.get().prepare(rootSearches.incrementAndGet(), true);
+        for (int depth = 1 + depthOffset; depth <= this.searchDepth + depthOffset && !this.isSearchStopped(moveStack); depth++) {
+            if (bitBoard.getSideToMove().isWhite()) {
+                this.max(bitBoard, moveStack, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            } else {
+                this.min(bitBoard, moveStack, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    //the next search clears the history, so it may only start once no helper of this one is still writing to it
+    private void stopHelpers(final List<Future<?>> helpers) {
+        this.helpersStopped = true;
+        awaitAll(helpers);
+    }
+
+    private static void awaitAll(final List<Future<?>> tasks) {
+        for (final Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (final InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public static long calculateTimeBudget(final Player player) {
+        final long remaining = TimeUnit.SECONDS.toMillis(player.getMinute() * 60L + player.getSecond());
+        return Math.max(MIN_TIME_BUDGET, remaining / EXPECTED_MOVES_LEFT);
+    }
+
+    //searches the root moves within the window of highest and lowest, leaving the score of the returned move in rootScore
+    private Move searchRoot(final Board board, final int searchDepth, final Collection<Move> rootMoves, final int highest, final int lowest) {
+        final Player currentPlayer = board.currentPlayer();
+        final boolean white = currentPlayer.getLeague().isWhite();
+        final int rootSearch = rootSearches.incrementAndGet();
+        final List<Move> moves = ImmutableList.copyOf(rootMoves);
+        final RootResult rootResult = new RootResult(moves, white, white ? highest : lowest);
+        this.rootResult = rootResult;
+        this.moveCount.set(0);
+        this.rootDepth = searchDepth;
+        this.rootBoard = board;
+
+        final AtomicBoolean isCheckMate = new AtomicBoolean(false);
+        final List<Future<?>> tasks = new ArrayList<>();
+
+        for (int index = 0; index < moves.size(); index++) {
+            final MoveTransition moveTransition = currentPlayer.makeMove(moves.get(index));
 
             if (isCheckMate.get()) {
                 break;
             }
             if (moveTransition.getMoveStatus().isDone()) {
-                executorService.execute(() -> {
-                    final int currentVal = currentPlayer.getLeague().isWhite() ?
-                            min(moveTransition.getLatestBoard(), this.searchDepth - 1, highestSeenValue.get(), lowestSeenValue.get()) :
-                            max(moveTransition.getLatestBoard(), this.searchDepth - 1, highestSeenValue.get(), lowestSeenValue.get());
-
-                    currentValue.set(currentVal);
-                    if (this.gameEnd) {
-                        //immediately set move to null after time out for AI
-                        bestMove.set(Move.MoveFactory.getNullMove());
-                    }
-                    else if (currentPlayer.getLeague().isWhite() && currentValue.get() > highestSeenValue.get()) {
-                        highestSeenValue.set(currentValue.get());
-                        bestMove.set(move);
-                        if(moveTransition.getLatestBoard().blackPlayer().isInCheckmate()) {
-                            isCheckMate.set(true);
-                        }
-                    }
-                    else if (currentPlayer.getLeague().isBlack() && currentValue.get() < lowestSeenValue.get()) {
-                        lowestSeenValue.set(currentValue.get());
-                        bestMove.set(move);
-                        if(moveTransition.getLatestBoard().whitePlayer().isInCheckmate()) {
-                            isCheckMate.set(true);
-                        }
+                final int rootIndex = index;
+                final Runnable task = () -> {
+                    //each worker walks its own mutable copy of the position
+                    final BitBoard bitBoard = BitBoard.fromBoard(moveTransition.getLatestBoard());
+                    final int bound = rootResult.bound(rootIndex);
+                    final int value = white ? this.searchRootMove(bitBoard, rootSearch, searchDepth - 1, bound, lowest) :
+                                              this.searchRootMove(bitBoard, rootSearch, searchDepth - 1, highest, bound);
+                    if (!this.isSearchStopped() && rootResult.offer(rootIndex, value, bound) && moveTransition.getLatestBoard().currentPlayer().isInCheckmate()) {
+                        isCheckMate.set(true);
                     }
-                    this.moveCount++;
-                });
+                    this.moveCount.incrementAndGet();
+                    this.reportProgress(false);
+                };
+                if (this.parallelism == Parallelism.ROOT_SPLIT) {
+                    tasks.add(searchPool.submit(task));
+                } else {
+                    task.run();
+                }
             }
         }
 
-        executorService.shutdown();
-        try {
-            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-        } catch (final InterruptedException e) {
-            e.printStackTrace();
+        awaitAll(tasks);
+        this.rootScore = rootResult.getBestScore();
+        //the moves searched after a time out are cut short, so none of them can be trusted
+        return this.gameEnd ? Move.MoveFactory.getNullMove() : rootResult.getBestMove();
+    }
+
+    //the root moves themselves are searched one after another when the nodes below are split
+    private int searchRootMove(final BitBoard bitBoard, final int rootSearch, final int depth, final int highest, final int lowest) {
+        if (this.parallelism == Parallelism.YOUNG_BROTHERS_WAIT) {
+            return splitPool.invoke(new SplitTask(bitBoard, TranspositionTable.NO_MOVE, rootSearch, null, depth, highest, lowest, false));
         }
-        return bestMove.get();
+        final MoveStack moveStack = threadMoveStack.get().prepare(rootSearch, false);
+        return bitBoard.getSideToMove().isWhite() ? this.max(bitBoard, moveStack, depth, highest, lowest) : this.min(bitBoard, moveStack, depth, highest, lowest);
     }
 
-    public int getMoveCount() { return this.moveCount; }
+    public int getSearchDepth() { return this.searchDepth; }
+
+    public int getMoveCount() { return this.moveCount.get(); }
+
+    //the score of every root move searched so far by the last root search, a move that fell outside its window only has a bound on it
+    public Map<Move, Integer> getRootMoveScores() {
+        final RootResult rootResult = this.rootResult;
+        return rootResult == null ? ImmutableMap.of() : rootResult.getScores();
+    }
 
     public void gamEndTimeOut() { this.gameEnd = true; }
 
-    private int max(final Board board, final int depth, final int highest, final int lowest) {
+    private boolean isTimeUp() { return this.deadline != NO_DEADLINE && System.nanoTime() - this.deadline > 0; }
+
+    private boolean isSearchStopped() { return this.gameEnd || this.stoppedSearch.get() == this.search || this.isTimeUp(); }
+
+    private boolean isSearchStopped(final MoveStack moveStack) {
+        return this.isSearchStopped() || (moveStack.helper && this.helpersStopped) || (moveStack.splitPoint != null && moveStack.splitPoint.isCutOff());
+    }
+
+    private int max(final BitBoard bitBoard, final MoveStack moveStack, final int depth, final int highest, final int lowest) {
+        this.countNode(moveStack);
         //immediately terminate the max function after time out
-        if (this.gameEnd) {
+        if (this.isSearchStopped(moveStack)) {
             return highest;
         }
-        if (depth == 0 || BoardUtils.isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
+        if (depth == 0 || bitBoard.getPly() >= BitBoard.MAX_PLY - 1) {
+            return this.quiescenceMax(bitBoard, moveStack, highest, lowest);
         }
-        int currentHighest = highest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final Board toBoard = moveTransition.getLatestBoard();
-                currentHighest = Math.max(currentHighest, min(toBoard, this.calculateQuiescenceDepth(toBoard, depth), currentHighest, lowest));
-                if (currentHighest >= lowest) {
-                    return lowest;
-                }
+        final long entry = this.transpositionTable.probe(bitBoard.getZobristKey());
+        if (TranspositionTable.isUsable(entry, depth, highest, lowest)) {
+            return Math.max(highest, Math.min(lowest, TranspositionTable.getScore(entry)));
+        }
+        final int[] moves = moveStack.moves[bitBoard.getPly()];
+        final int moveCount = bitBoard.generateLegalMoves(moves);
+        if (moveCount == 0) {
+            return this.evaluator.evaluate(bitBoard, depth);
+        }
+        final int[] scores = moveStack.scores[bitBoard.getPly()];
+        MoveSorter.score(bitBoard, moves, scores, moveCount, TranspositionTable.getMove(entry), moveStack.killers[bitBoard.getPly()], this.history);
+        int currentHighest = highest, bestMove = 0;
+        List<SplitTask> youngerBrothers = null;
+        for (int i = 0; i < moveCount; i++) {
+            if (i == 1 && this.canSplit(depth)) {
+                youngerBrothers = this.forkYoungerBrothers(bitBoard, moveStack, moves, scores, moveCount, depth - 1, currentHighest, lowest);
+            }
+            final int move, value;
+            if (youngerBrothers == null) {
+                move = MoveSorter.pickNext(moves, scores, i, moveCount);
+                bitBoard.makeMove(move);
+                value = this.searchMin(bitBoard, moveStack, depth - 1, currentHighest, lowest, i > 0);
+                bitBoard.unmakeMove();
+            } else {
+                move = youngerBrothers.get(i - 1).move;
+                value = youngerBrothers.get(i - 1).join();
+            }
+            if (value > currentHighest) {
+                currentHighest = value;
+                bestMove = move;
+                narrow(youngerBrothers, currentHighest);
+            }
+            if (currentHighest >= lowest) {
+                cancel(youngerBrothers);
+                this.updateHistory(bitBoard, moveStack, move, depth);
+                this.storeTransposition(bitBoard, moveStack, depth, lowest, TranspositionTable.LOWER_BOUND, move);
+                return lowest;
             }
         }
+        this.storeTransposition(bitBoard, moveStack, depth, currentHighest, currentHighest > highest ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND, bestMove);
         return currentHighest;
     }
 
-    private int min(final Board board, final int depth, final int highest, final int lowest) {
+    private int min(final BitBoard bitBoard, final MoveStack moveStack, final int depth, final int highest, final int lowest) {
+        this.countNode(moveStack);
         //immediately terminate the max function after time out
-        if (this.gameEnd) {
+        if (this.isSearchStopped(moveStack)) {
             return lowest;
         }
-        if (depth == 0 || BoardUtils.isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
+        if (depth == 0 || bitBoard.getPly() >= BitBoard.MAX_PLY - 1) {
+            return this.quiescenceMin(bitBoard, moveStack, highest, lowest);
         }
-        int currentLowest = lowest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final Board toBoard = moveTransition.getLatestBoard();
-                currentLowest = Math.min(currentLowest, max(toBoard, this.calculateQuiescenceDepth(toBoard, depth), highest, currentLowest));
-                if (currentLowest <= highest) {
-                    return highest;
-                }
+        final long entry = this.transpositionTable.probe(bitBoard.getZobristKey());
+        if (TranspositionTable.isUsable(entry, depth, highest, lowest)) {
+            return Math.max(highest, Math.min(lowest, TranspositionTable.getScore(entry)));
+        }
+        final int[] moves = moveStack.moves[bitBoard.getPly()];
+        final int moveCount = bitBoard.generateLegalMoves(moves);
+        if (moveCount == 0) {
+            return this.evaluator.evaluate(bitBoard, depth);
+        }
+        final int[] scores = moveStack.scores[bitBoard.getPly()];
+        MoveSorter.score(bitBoard, moves, scores, moveCount, TranspositionTable.getMove(entry), moveStack.killers[bitBoard.getPly()], this.history);
+        int currentLowest = lowest, bestMove = 0;
+        List<SplitTask> youngerBrothers = null;
+        for (int i = 0; i < moveCount; i++) {
+            if (i == 1 && this.canSplit(depth)) {
+                youngerBrothers = this.forkYoungerBrothers(bitBoard, moveStack, moves, scores, moveCount, depth - 1, highest, currentLowest);
+            }
+            final int move, value;
+            if (youngerBrothers == null) {
+                move = MoveSorter.pickNext(moves, scores, i, moveCount);
+                bitBoard.makeMove(move);
+                value = this.searchMax(bitBoard, moveStack, depth - 1, highest, currentLowest, i > 0);
+                bitBoard.unmakeMove();
+            } else {
+                move = youngerBrothers.get(i - 1).move;
+                value = youngerBrothers.get(i - 1).join();
+            }
+            if (value < currentLowest) {
+                currentLowest = value;
+                bestMove = move;
+                narrow(youngerBrothers, currentLowest);
+            }
+            if (currentLowest <= highest) {
+                cancel(youngerBrothers);
+                this.updateHistory(bitBoard, moveStack, move, depth);
+                this.storeTransposition(bitBoard, moveStack, depth, highest, TranspositionTable.UPPER_BOUND, move);
+                return highest;
             }
         }
+        this.storeTransposition(bitBoard, moveStack, depth, currentLowest, currentLowest < lowest ? TranspositionTable.EXACT : TranspositionTable.LOWER_BOUND, bestMove);
         return currentLowest;
     }
 
-    private int calculateQuiescenceDepth(final Board toBoard, final int depth) {
-        if(depth == 1 && this.quiescenceCount < MAX_QUIESCENCE) {
-            int activityMeasure = 0;
-            if (toBoard.currentPlayer().isInCheck()) {
-                activityMeasure += 1;
+    //with principal variation search a younger brother is first only proven no better than the bound with a zero window
+    private int searchMin(final BitBoard bitBoard, final MoveStack moveStack, final int depth, final int highest, final int lowest, final boolean youngerBrother) {
+        if (youngerBrother && this.algorithm.isPrincipalVariation() && highest < lowest - 1) {
+            final int value = this.min(bitBoard, moveStack, depth, highest, highest + 1);
+            return value > highest ? this.min(bitBoard, moveStack, depth, highest, lowest) : value;
+        }
+        return this.min(bitBoard, moveStack, depth, highest, lowest);
+    }
+
+    private int searchMax(final BitBoard bitBoard, final MoveStack moveStack, final int depth, final int highest, final int lowest, final boolean youngerBrother) {
+        if (youngerBrother && this.algorithm.isPrincipalVariation() && lowest > highest + 1) {
+            final int value = this.max(bitBoard, moveStack, depth, lowest - 1, lowest);
+            return value < lowest ? this.max(bitBoard, moveStack, depth, highest, lowest) : value;
+        }
+        return this.max(bitBoard, moveStack, depth, highest, lowest);
+    }
+
+    private boolean canSplit(final int depth) { return this.parallelism == Parallelism.YOUNG_BROTHERS_WAIT && depth >= MIN_SPLIT_DEPTH; }
+
+    //the moves after the first, in search order, each on a copy of the board so the node can be left while they still run
+    private List<SplitTask> forkYoungerBrothers(final BitBoard bitBoard, final MoveStack moveStack, final int[] moves, final int[] scores,
+                                                final int moveCount, final int depth, final int highest, final int lowest) {
+        final SplitPoint splitPoint = new SplitPoint(moveStack.splitPoint, bitBoard.getSideToMove().isWhite() ? highest : lowest);
+        final List<SplitTask> youngerBrothers = new ArrayList<>(moveCount - 1);
+        for (int i = 1; i < moveCount; i++) {
+            final int move = MoveSorter.pickNext(moves, scores, i, moveCount);
+            final BitBoard child = bitBoard.copy();
+            child.makeMove(move);
+            youngerBrothers.add(new SplitTask(child, move, moveStack.rootSearch, splitPoint, depth, highest, lowest, true));
+        }
+        //forked last to first, so the owner of the deque works from the front of the list while thieves take from its back
+        for (int i = youngerBrothers.size() - 1; i >= 0; i--) {
+            youngerBrothers.get(i).fork();
+        }
+        return youngerBrothers;
+    }
+
+    //the brothers that have not started yet search within the better bound
+    private static void narrow(final List<SplitTask> youngerBrothers, final int bound) {
+        if (youngerBrothers != null) {
+            youngerBrothers.get(0).splitPoint.bound = bound;
+        }
+    }
+
+    private static void cancel(final List<SplitTask> youngerBrothers) {
+        if (youngerBrothers != null) {
+            youngerBrothers.get(0).splitPoint.cutOff = true;
+            for (final SplitTask youngerBrother : youngerBrothers) {
+                youngerBrother.cancel(false);
             }
-            for(final Move move: BoardUtils.lastNMoves(toBoard, 2)) {
-                if(move.isAttack()) {
-                    activityMeasure += 1;
+        }
+    }
+
+    //a quiet move that cut off the search is tried early by its siblings and wherever the same piece can reach the same square
+    private void updateHistory(final BitBoard bitBoard, final MoveStack moveStack, final int move, final int depth) {
+        if (!bitBoard.isQuietMove(move)) {
+            return;
+        }
+        final int[] killers = moveStack.killers[bitBoard.getPly()];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+        final int[] pieceHistory = this.history[BitBoard.getMovedPiece(move)];
+        final int to = BitBoard.getTo(move);
+        pieceHistory[to] += depth * depth;
+        if (pieceHistory[to] > HISTORY_LIMIT) {
+            for (final int[] scores : this.history) {
+                for (int square = 0; square < scores.length; square++) {
+                    scores[square] /= 2;
                 }
             }
-            if(activityMeasure >= 2) {
-                this.quiescenceCount++;
-                return 2;
+        }
+    }
+
+    private void storeTransposition(final BitBoard bitBoard, final MoveStack moveStack, final int depth, final int score, final int bound, final int move) {
+        //scores cut short by a time out are not worth keeping
+        if (!this.isSearchStopped(moveStack)) {
+            this.transpositionTable.store(bitBoard.getZobristKey(), depth, score, bound, move);
+        }
+    }
+
+    //captures only, until the position is quiet enough for the evaluation to be trusted
+    private int quiescenceMax(final BitBoard bitBoard, final MoveStack moveStack, final int highest, final int lowest) {
+        this.countNode(moveStack);
+        if (this.isSearchStopped(moveStack)) {
+            return highest;
+        }
+        final boolean inCheck = bitBoard.isInCheck(bitBoard.getSideToMove());
+        int currentHighest = highest, standPat = 0;
+        if (!inCheck || bitBoard.getPly() >= BitBoard.MAX_PLY - 1) {
+            standPat = this.evaluator.evaluate(bitBoard, 0);
+            if (standPat >= lowest || bitBoard.getPly() >= BitBoard.MAX_PLY - 1) {
+                return Math.min(standPat, lowest);
             }
+            currentHighest = Math.max(currentHighest, standPat);
+        }
+        //a side in check has no stand pat and tries every evasion
+        final int[] moves = moveStack.moves[bitBoard.getPly()];
+        final int moveCount = inCheck ? bitBoard.generateLegalMoves(moves) : bitBoard.generateLegalCaptures(moves);
+        if (moveCount == 0) {
+            return inCheck ? this.evaluator.evaluate(bitBoard, 0) : currentHighest;
         }
-        return depth - 1;
+        final int[] scores = moveStack.scores[bitBoard.getPly()];
+        MoveSorter.score(bitBoard, moves, scores, moveCount, TranspositionTable.NO_MOVE);
+        for (int i = 0; i < moveCount; i++) {
+            final int move = MoveSorter.pickNext(moves, scores, i, moveCount);
+            if (!inCheck && (standPat + captureGain(bitBoard, move) + DELTA_MARGIN <= currentHighest || notWorthSearching(bitBoard, move))) {
+                continue;
+            }
+            bitBoard.makeMove(move);
+            currentHighest = Math.max(currentHighest, this.quiescenceMin(bitBoard, moveStack, currentHighest, lowest));
+            bitBoard.unmakeMove();
+            if (currentHighest >= lowest) {
+                return lowest;
+            }
+        }
+        return currentHighest;
+    }
+
+    private int quiescenceMin(final BitBoard bitBoard, final MoveStack moveStack, final int highest, final int lowest) {
+        this.countNode(moveStack);
+        if (this.isSearchStopped(moveStack)) {
+            return lowest;
+        }
+        final boolean inCheck = bitBoard.isInCheck(bitBoard.getSideToMove());
+        int currentLowest = lowest, standPat = 0;
+        if (!inCheck || bitBoard.getPly() >= BitBoard.MAX_PLY - 1) {
+            standPat = this.evaluator.evaluate(bitBoard, 0);
+            if (standPat <= highest || bitBoard.getPly() >= BitBoard.MAX_PLY - 1) {
+                return Math.max(standPat, highest);
+            }
+            currentLowest = Math.min(currentLowest, standPat);
+        }
+        final int[] moves = moveStack.moves[bitBoard.getPly()];
+        final int moveCount = inCheck ? bitBoard.generateLegalMoves(moves) : bitBoard.generateLegalCaptures(moves);
+        if (moveCount == 0) {
+            return inCheck ? this.evaluator.evaluate(bitBoard, 0) : currentLowest;
+        }
+        final int[] scores = moveStack.scores[bitBoard.getPly()];
+        MoveSorter.score(bitBoard, moves, scores, moveCount, TranspositionTable.NO_MOVE);
+        for (int i = 0; i < moveCount; i++) {
+            final int move = MoveSorter.pickNext(moves, scores, i, moveCount);
+            if (!inCheck && (standPat - captureGain(bitBoard, move) - DELTA_MARGIN >= currentLowest || notWorthSearching(bitBoard, move))) {
+                continue;
+            }
+            bitBoard.makeMove(move);
+            currentLowest = Math.min(currentLowest, this.quiescenceMax(bitBoard, moveStack, highest, currentLowest));
+            bitBoard.unmakeMove();
+            if (currentLowest <= highest) {
+                return highest;
+            }
+        }
+        return currentLowest;
+    }
+
+    //a capture the opponent can win back with interest is not worth searching, nor a promotion to anything but a queen,
+    //which the queen promotion on the same square does better
+    private static boolean notWorthSearching(final BitBoard bitBoard, final int move) {
+        final PieceType promotionType = BitBoard.getPromotionType(move);
+        return promotionType == null ? bitBoard.staticExchangeEvaluation(move) < 0 : promotionType != PieceType.QUEEN;
+    }
+
+    //material a capture or promotion can win at most
+    private static int captureGain(final BitBoard bitBoard, final int move) {
+        final PieceType capturedType = BitBoard.getFlag(move) == BitBoard.FLAG_EN_PASSANT ? PieceType.PAWN : bitBoard.getPieceTypeAt(BitBoard.getTo(move));
+        final PieceType promotionType = BitBoard.getPromotionType(move);
+        return (capturedType == null ? 0 : capturedType.getPieceValue()) +
+               (promotionType == null ? 0 : promotionType.getPieceValue() - PieceType.PAWN.getPieceValue());
     }
-}
\ No newline at end of file
+}
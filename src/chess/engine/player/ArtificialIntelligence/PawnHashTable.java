@@ -0,0 +1,38 @@
+package chess.engine.player.ArtificialIntelligence;
+
+//pawn structure scores by pawn key, shared by every search thread without locks like the transposition table,
+//each slot keeps its key xor-ed with its data so a torn write reads back as a miss
+final class PawnHashTable {
+
+    static final long NO_ENTRY = 0;
+
+    //white minus black structure score in the low 32 bits, the bits up to the presence bit are free for more pawn terms
+    private static final long PRESENT = 1L << 63;
+
+    private final long[] keys, entries;
+    private final int slotMask;
+
+    PawnHashTable(final int slots) {
+        final int size = Integer.highestOneBit(Math.max(1, slots));
+        this.keys = new long[size];
+        this.entries = new long[size];
+        this.slotMask = size - 1;
+    }
+
+    long probe(final long pawnKey) {
+        final int slot = this.slotIndex(pawnKey);
+        final long entry = this.entries[slot];
+        return (this.keys[slot] ^ entry) == pawnKey ? entry : NO_ENTRY;
+    }
+
+    void store(final long pawnKey, final int score) {
+        final long entry = (score & 0xFFFFFFFFL) | PRESENT;
+        final int slot = this.slotIndex(pawnKey);
+        this.keys[slot] = pawnKey ^ entry;
+        this.entries[slot] = entry;
+    }
+
+    static int getScore(final long entry) { return (int) entry; }
+
+    private int slotIndex(final long pawnKey) { return (int) (pawnKey >>> 32) & this.slotMask; }
+}
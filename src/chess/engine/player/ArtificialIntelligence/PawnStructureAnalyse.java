@@ -1,5 +1,9 @@
 package chess.engine.player.ArtificialIntelligence;
 
+import chess.engine.League;
+import chess.engine.board.BitBoard;
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
 import chess.engine.pieces.Piece;
 import chess.engine.pieces.PieceType;
 import chess.engine.player.Player;
@@ -12,15 +16,43 @@ public final class PawnStructureAnalyse {
     public static final int ISOLATED_PAWN_PENALTY = -10;
     public static final int DOUBLED_PAWN_PENALTY = -10;
 
+    private static final int PAWN_HASH_SLOTS = 1 << 14;
+
+    private final PawnHashTable pawnHashTable = new PawnHashTable(PAWN_HASH_SLOTS);
+
     public int pawnStructureScore(final Player player) {
         final int[] pawnsOnColumnTable = createPawnColumnTable(calculatePlayerPawns(player));
         return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
     }
 
+    //white minus black, looked up by the pawn key since the pawns rarely change between the positions of a search
+    public int pawnStructureScore(final BitBoard bitBoard) {
+        return this.pawnStructureScore(bitBoard.getPawnKey(), bitBoard.getPieceSet(PieceType.PAWN, League.WHITE), bitBoard.getPieceSet(PieceType.PAWN, League.BLACK));
+    }
+
+    public int pawnStructureScore(final Board board) {
+        return this.pawnStructureScore(board.getPawnKey(), board.getPieceSet(PieceType.PAWN, League.WHITE), board.getPieceSet(PieceType.PAWN, League.BLACK));
+    }
+
+    private int pawnStructureScore(final long pawnKey, final long whitePawns, final long blackPawns) {
+        final long entry = this.pawnHashTable.probe(pawnKey);
+        if (entry != PawnHashTable.NO_ENTRY) {
+            return PawnHashTable.getScore(entry);
+        }
+        final int score = pawnStructureScore(whitePawns) - pawnStructureScore(blackPawns);
+        this.pawnHashTable.store(pawnKey, score);
+        return score;
+    }
+
     public int isolatedPawnPenalty(final Player player) { return calculateIsolatedPawnPenalty(createPawnColumnTable(calculatePlayerPawns(player))); }
 
     public int doubledPawnPenalty(final Player player) { return calculatePawnColumnStack(createPawnColumnTable(calculatePlayerPawns(player))); }
 
+    private static int pawnStructureScore(final long pawns) {
+        final int[] pawnsOnColumnTable = createPawnColumnTable(pawns);
+        return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
+    }
+
     private static Collection<Piece> calculatePlayerPawns(final Player player) { return player.getActivePieces().stream().filter(piece -> piece.getPieceType() == PieceType.PAWN).collect(Collectors.toUnmodifiableList()); }
 
     private static int calculatePawnColumnStack(final int[] pawnsOnColumnTable) {
@@ -56,4 +88,12 @@ public final class PawnStructureAnalyse {
         }
         return table;
     }
+
+    private static int[] createPawnColumnTable(final long playerPawns) {
+        final int[] table = new int[BoardUtils.NUM_TILES_PER_ROW];
+        for (int column = 0; column < table.length; column++) {
+            table[column] = Long.bitCount(playerPawns & BoardUtils.columnMask(column));
+        }
+        return table;
+    }
 }
\ No newline at end of file
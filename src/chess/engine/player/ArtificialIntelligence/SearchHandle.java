@@ -0,0 +1,29 @@
+package chess.engine.player.ArtificialIntelligence;
+
+import chess.engine.board.Move;
+
+import java.util.concurrent.CompletableFuture;
+
+//a search running in the background, stopping it still completes the result with the best move it found
+public final class SearchHandle {
+
+    private final MiniMax miniMax;
+    private final int search;
+    private final CompletableFuture<Move> result;
+
+    SearchHandle(final MiniMax miniMax, final int search, final CompletableFuture<Move> result) {
+        this.miniMax = miniMax;
+        this.search = search;
+        this.result = result;
+    }
+
+    public CompletableFuture<Move> getResult() { return this.result; }
+
+    public Move getBestMove() { return this.result.isDone() ? this.result.join() : this.miniMax.getBestMoveSoFar(this.search); }
+
+    public void stop() { this.miniMax.stop(this.search); }
+
+    public void ponderhit() { this.miniMax.ponderhit(this.search); }
+
+    public boolean isDone() { return this.result.isDone(); }
+}
@@ -0,0 +1,32 @@
+package chess.engine.player.ArtificialIntelligence;
+
+import chess.engine.player.Player;
+
+//how long a search may take, it never goes deeper than the search depth of its MiniMax
+public final class SearchLimits {
+
+    static final long NO_TIME_LIMIT = -1;
+
+    //in milliseconds
+    private final long moveTime;
+    private final boolean ponder;
+
+    private SearchLimits(final long moveTime, final boolean ponder) {
+        this.moveTime = moveTime;
+        this.ponder = ponder;
+    }
+
+    public static SearchLimits depthOnly() { return new SearchLimits(NO_TIME_LIMIT, false); }
+
+    public static SearchLimits moveTime(final long milliseconds) { return new SearchLimits(milliseconds, false); }
+
+    //the share of the clock of the player to move
+    public static SearchLimits clock(final Player player) { return moveTime(MiniMax.calculateTimeBudget(player)); }
+
+    //searches on the time of the opponent, the move time only starts once the pondered move is played
+    public SearchLimits ponder() { return new SearchLimits(this.moveTime, true); }
+
+    long getMoveTime() { return this.moveTime; }
+
+    boolean isPonder() { return this.ponder; }
+}
@@ -0,0 +1,8 @@
+package chess.engine.player.ArtificialIntelligence;
+
+//told of the progress of a search from whichever search thread gets there, so it should return quickly
+@FunctionalInterface
+public interface SearchListener {
+
+    void onProgress(SearchProgress searchProgress);
+}
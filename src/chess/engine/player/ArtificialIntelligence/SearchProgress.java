@@ -0,0 +1,71 @@
+package chess.engine.player.ArtificialIntelligence;
+
+import chess.engine.board.BitBoard;
+import chess.engine.board.Board;
+import chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class SearchProgress {
+
+    private final int depth, searchedRootMoves, rootMoves;
+    private final boolean depthCompleted;
+    private final long nodes, elapsedNanos;
+    private final Move bestMove;
+    private final Board board;
+    private final int[] principalVariation;
+
+    SearchProgress(final int depth, final boolean depthCompleted, final long nodes, final long elapsedNanos, final Move bestMove,
+                   final Board board, final int[] principalVariation, final int searchedRootMoves, final int rootMoves) {
+        this.depth = depth;
+        this.depthCompleted = depthCompleted;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.bestMove = bestMove;
+        this.board = board;
+        this.principalVariation = principalVariation;
+        this.searchedRootMoves = searchedRootMoves;
+        this.rootMoves = rootMoves;
+    }
+
+    //the depth being searched, or the one just finished
+    public int getDepth() { return this.depth; }
+
+    public boolean isDepthCompleted() { return this.depthCompleted; }
+
+    public long getNodes() { return this.nodes; }
+
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos); }
+
+    public long getNodesPerSecond() { return this.nodes * 1000 / Math.max(1, this.getElapsedMillis()); }
+
+    //null until the search has scored a move
+    public Move getBestMove() { return this.bestMove; }
+
+    //decoded on each call by replaying the moves from the position the search started from
+    public List<Move> getPrincipalVariation() {
+        final ImmutableList.Builder<Move> principalVariation = ImmutableList.builder();
+        Board board = this.board;
+        for (final int move : this.principalVariation) {
+            final Move decodedMove = BitBoard.decodeMove(board, move);
+            if (decodedMove == Move.MoveFactory.getNullMove()) {
+                break;
+            }
+            principalVariation.add(decodedMove);
+            board = board.currentPlayer().makeMove(decodedMove).getLatestBoard();
+        }
+        return principalVariation.build();
+    }
+
+    //root moves searched at this depth so far, out of all of them
+    public int getSearchedRootMoves() { return this.searchedRootMoves; }
+
+    public int getRootMoves() { return this.rootMoves; }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " nodes " + this.nodes + " nps " + this.getNodesPerSecond() + " pv " + this.getPrincipalVariation();
+    }
+}
@@ -1,16 +1,15 @@
 package chess.engine.player.ArtificialIntelligence;
 
+import chess.engine.League;
+import chess.engine.board.BitBoard;
 import chess.engine.board.Board;
 import chess.engine.board.Move;
+import chess.engine.board.PieceSquareTable;
 import chess.engine.pieces.Piece;
 import chess.engine.pieces.PieceType;
 import chess.engine.player.Player;
-import com.google.common.collect.Lists;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.function.ToLongBiFunction;
 
 public final class StandardBoardEvaluation {
 
@@ -23,93 +22,100 @@ public final class StandardBoardEvaluation {
     private final static int ATTACK_MULTIPLIER = 1;
     private final static int TWO_BISHOPS_BONUS = 25;
     private final static PawnStructureAnalyse pawnStructureScore = new PawnStructureAnalyse();
+    private final static ThreadLocal<int[]> moveBuffer = ThreadLocal.withInitial(() -> new int[BitBoard.MAX_MOVES]);
 
-    private static final int[] kingEvaluation = {
-            -30,-40,-40,-50,-50,-40,-40,-30,
-            -30,-40,-40,-50,-50,-40,-40,-30,
-            -30,-40,-40,-50,-50,-40,-40,-30,
-            -30,-40,-40,-50,-50,-40,-40,-30,
-            -20,-30,-30,-40,-40,-30,-30,-20,
-            -10,-20,-20,-20,-20,-20,-20,-10,
-            20, 20,  0,  0,  0,  0, 20, 20,
-            20, 30, 10,  0,  0, 10, 30, 20
-    };
-
-    private static final int[] queenEvaluation = {
-            -20,-10,-10, -5, -5,-10,-10,-20,
-            -10,  0,  0,  0,  0,  0,  0,-10,
-            -10,  0,  5,  5,  5,  5,  0,-10,
-            -5,  0,  5,  5,  5,  5,  0, -5,
-            0,  0,  5,  5,  5,  5,  0, -5,
-            -10,  5,  5,  5,  5,  5,  0,-10,
-            -10,  0,  5,  0,  0,  0,  0,-10,
-            -20,-10,-10, -5, -5,-10,-10,-20
-    };
-
-    private static final int[] rookEvaluation = {
-            0,  0,  0,  0,  0,  0,  0,  0,
-            5, 20, 20, 20, 20, 20, 20,  5,
-            -5,  0,  0,  0,  0,  0,  0, -5,
-            -5,  0,  0,  0,  0,  0,  0, -5,
-            -5,  0,  0,  0,  0,  0,  0, -5,
-            -5,  0,  0,  0,  0,  0,  0, -5,
-            -5,  0,  0,  0,  0,  0,  0, -5,
-            0,  0,  0,  5,  5,  0,  0,  0
-    };
-
-    private static final int[] bishopEvaluation = {
-            -20,-10,-10,-10,-10,-10,-10,-20,
-            -10,  0,  0,  0,  0,  0,  0,-10,
-            -10,  0,  5, 10, 10,  5,  0,-10,
-            -10,  5,  5, 10, 10,  5,  5,-10,
-            -10,  0, 10, 10, 10, 10,  0,-10,
-            -10, 10, 10, 10, 10, 10, 10,-10,
-            -10,  5,  0,  0,  0,  0,  5,-10,
-            -20,-10,-10,-10,-10,-10,-10,-20
-    };
-
-    private static final int[] knightEvaluation = {
-            -50,-40,-30,-30,-30,-30,-40,-50,
-            -40,-20,  0,  0,  0,  0,-20,-40,
-            -30,  0, 10, 15, 15, 10,  0,-30,
-            -30,  5, 15, 20, 20, 15,  5,-30,
-            -30,  0, 15, 20, 20, 15,  0,-30,
-            -30,  5, 10, 15, 15, 10,  5,-30,
-            -40,-20,  0,  5,  5,  0,-20,-40,
-            -50,-40,-30,-30,-30,-30,-40,-50
-    };
-
-    private static final int[] pawnEvaluation = {
-            0,  0,  0,  0,  0,  0,  0,  0,
-            75, 75, 75, 75, 75, 75, 75, 75,
-            25, 25, 29, 29, 29, 29, 25, 25,
-            5,  5, 10, 55, 55, 10,  5,  5,
-            0,  0,  0, 20, 20,  0,  0,  0,
-            5, -5,-10,  0,  0,-10, -5,  5,
-            5, 10, 10,-20,-20, 10, 10,  5,
-            0,  0,  0,  0,  0,  0,  0,  0
-    };
+    //phase counts the minor and major pieces left, from MAX_PHASE with all of them on the board down to 0 with none,
+    //scores fade from their middlegame to their endgame value as it falls
+    private static final int MAX_PHASE = 24;
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
 
+    //material and position come with the board and pawn structure mostly from the pawn hash, the rest depends on how the pieces interact
     public int evaluate(final Board board, final int depth) {
-        return - scorePlayer(board.blackPlayer(), depth) + scorePlayer(board.whitePlayer(), depth);
+        final int phase = gamePhase(board);
+        final int whiteMobility = board.getMobility(League.WHITE), blackMobility = board.getMobility(League.BLACK);
+        return taper(board.getPieceSquareScore(), phase) + pawnStructureScore.pawnStructureScore(board) -
+                scorePlayer(board.blackPlayer(), depth, phase, blackMobility, whiteMobility) +
+                scorePlayer(board.whitePlayer(), depth, phase, whiteMobility, blackMobility);
     }
 
-    private static int scorePlayer(final Player player, final int depth) {
-        return mobility(player) +
+    private static int scorePlayer(final Player player, final int depth, final int phase, final int mobility, final int opponentMobility) {
+        return MOBILITY_MULTIPLIER * mobilityRatio(mobility, opponentMobility) +
                 checkMate(player, depth) +
                 attacks(player) +
-                castled(player) +
-                pieceEvaluations(player) +
-                pawnStructure(player);
+                castled(player, phase) +
+                bishopPair(player);
     }
 
+    public int evaluate(final BitBoard bitBoard, final int depth) {
+        final int[] moves = moveBuffer.get();
+        final int whiteAttacks = attacks(bitBoard, moves, bitBoard.generatePseudoLegalCaptures(moves, League.WHITE));
+        final int blackAttacks = attacks(bitBoard, moves, bitBoard.generatePseudoLegalCaptures(moves, League.BLACK));
+        final int whiteMobility = bitBoard.getMobility(League.WHITE), blackMobility = bitBoard.getMobility(League.BLACK);
+        final int phase = gamePhase(bitBoard);
+        return taper(bitBoard.getPieceSquareScore(), phase) + pawnStructureScore.pawnStructureScore(bitBoard) -
+                scorePlayer(bitBoard, League.BLACK, depth, phase, blackMobility, whiteMobility, blackAttacks) +
+                scorePlayer(bitBoard, League.WHITE, depth, phase, whiteMobility, blackMobility, whiteAttacks);
+    }
+
+    private static int scorePlayer(final BitBoard bitBoard, final League league, final int depth, final int phase,
+                                   final int mobility, final int opponentMobility, final int attackScore) {
+        return MOBILITY_MULTIPLIER * mobilityRatio(mobility, opponentMobility) +
+                checkMate(bitBoard, league, depth) +
+                attackScore +
+                (bitBoard.isCastled(league) ? taper(PieceSquareTable.packScore(CASTLE_BONUS, 0), phase) : 0) +
+                (Long.bitCount(bitBoard.getPieceSet(PieceType.BISHOP, league)) == 2 ? TWO_BISHOPS_BONUS : 0);
+    }
+
+    //captures that do not lose material once the exchange is played out
+    private static int attacks(final BitBoard bitBoard, final int[] moves, final int moveCount) {
+        int attackScore = 0;
+        for (int i = 0; i < moveCount; i++) {
+            final int move = moves[i];
+            final PieceType attackedPiece = BitBoard.getFlag(move) == BitBoard.FLAG_EN_PASSANT ? PieceType.PAWN : bitBoard.getPieceTypeAt(BitBoard.getTo(move));
+            if (attackedPiece != null && (bitBoard.getPieceTypeAt(BitBoard.getFrom(move)).getPieceValue() <= attackedPiece.getPieceValue() ||
+                                          bitBoard.staticExchangeEvaluation(move) >= 0)) {
+                attackScore++;
+            }
+        }
+        return attackScore * ATTACK_MULTIPLIER;
+    }
+
+    //a side with nothing left to move counts as one square so the ratio stays finite
+    private static int mobilityRatio(final int mobility, final int opponentMobility) { return mobility * 10 / Math.max(1, opponentMobility); }
+
+    private static int checkMate(final BitBoard bitBoard, final League league, final int depth) {
+        final League opponent = BitBoard.opposite(league);
+        if (!bitBoard.isInCheck(opponent)) {
+            return 0;
+        }
+        return bitBoard.isInCheckmate(opponent) ? CHECK_MATE * depthBonus(depth) : CHECK_KING;
+    }
+
+    public static int gamePhase(final BitBoard bitBoard) { return gamePhase(bitBoard::getPieceSet); }
+
+    public static int gamePhase(final Board board) { return gamePhase(board::getPieceSet); }
+
+    private static int gamePhase(final ToLongBiFunction<PieceType, League> pieceSets) {
+        int phase = 0;
+        for (final PieceType pieceType : PieceType.values()) {
+            phase += PHASE_WEIGHTS[pieceType.ordinal()] * Long.bitCount(pieceSets.applyAsLong(pieceType, League.WHITE) | pieceSets.applyAsLong(pieceType, League.BLACK));
+        }
+        //promotions can take it past a full set of pieces
+        return Math.min(phase, MAX_PHASE);
+    }
+
+    private static int taper(final int score, final int phase) {
+        return (PieceSquareTable.middlegameScore(score) * phase + PieceSquareTable.endgameScore(score) * (MAX_PHASE - phase)) / MAX_PHASE;
+    }
+
+    //captures that do not lose material once the exchange is played out
     private static int attacks(final Player player) {
         int attackScore = 0;
         for(final Move move : player.getLegalMoves()) {
             if(move.isAttack()) {
                 final Piece movedPiece = move.getMovedPiece();
                 final Piece attackedPiece = move.getAttackedPiece();
-                if(movedPiece.getPieceValue() <= attackedPiece.getPieceValue()) {
+                if(movedPiece.getPieceValue() <= attackedPiece.getPieceValue() || move.getBoard().staticExchangeEvaluation(move) >= 0) {
                     attackScore++;
                 }
             }
@@ -117,28 +123,19 @@ public final class StandardBoardEvaluation {
         return attackScore * ATTACK_MULTIPLIER;
     }
 
-    private static int pieceEvaluations(final Player player) {
-        int pieceValuationScore = 0;
+    private static int bishopPair(final Player player) {
         int numBishops = 0;
         for (final Piece piece : player.getActivePieces()) {
-            pieceValuationScore += piece.getPieceValue() + positionValue(piece).get(piece.getPiecePosition());
             if(piece.getPieceType() == PieceType.BISHOP) {
                 numBishops++;
             }
         }
-        return pieceValuationScore + (numBishops == 2 ? TWO_BISHOPS_BONUS : 0);
+        return numBishops == 2 ? TWO_BISHOPS_BONUS : 0;
     }
 
-    private static int mobility(final Player player) {
-        return MOBILITY_MULTIPLIER * mobilityRatio(player);
-    }
-
-    private static int mobilityRatio(final Player player) {
-        return (int)((player.getLegalMoves().size() * 10.0f) / player.getOpponent().getLegalMoves().size());
-    }
-
-    private static int castled(final Player player) {
-        return player.isCastled() ? CASTLE_BONUS : 0;
+    //a castled king only matters while there are pieces left to attack it
+    private static int castled(final Player player, final int phase) {
+        return player.isCastled() ? taper(PieceSquareTable.packScore(CASTLE_BONUS, 0), phase) : 0;
     }
 
     private static int checkMate(final Player player, final int depth) { return player.getOpponent().isInCheckmate() ? CHECK_MATE * depthBonus(depth) : check(player); }
@@ -150,29 +147,4 @@ public final class StandardBoardEvaluation {
     private static int check(final Player player) {
         return player.getOpponent().isInCheck() ? CHECK_KING : 0;
     }
-
-    private static int pawnStructure(final Player player) { return pawnStructureScore.pawnStructureScore(player); }
-
-    private static List<Integer> positionValue(final Piece piece) {
-        final boolean isWhite = piece.getLeague().isWhite();
-
-        if ("K".equals(piece.toString())) { return getPiecePositionValue(isWhite, kingEvaluation); }
-
-        else if ("Q".equals(piece.toString())) { return getPiecePositionValue(isWhite, queenEvaluation); }
-
-        else if ("R".equals(piece.toString())) { return getPiecePositionValue(isWhite, rookEvaluation); }
-
-        else if ("B".equals(piece.toString())) { return getPiecePositionValue(isWhite, bishopEvaluation); }
-
-        else if ("N".equals(piece.toString())) { return getPiecePositionValue(isWhite, knightEvaluation); }
-
-        else { return getPiecePositionValue(isWhite, pawnEvaluation); }
-    }
-
-    private static List<Integer> getPiecePositionValue(final boolean isWhite, final int[] positionValue) {
-        if (isWhite) {
-            return Arrays.stream(positionValue).boxed().collect(Collectors.toUnmodifiableList());
-        }
-        return Collections.unmodifiableList(Lists.reverse(Arrays.stream(positionValue).boxed().collect(Collectors.toList())));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package chess.engine.player.ArtificialIntelligence;
+
+import chess.engine.board.BitBoard;
+
+//fixed size table shared by every search thread without locks,
+//each slot keeps its key xor-ed with its data so a torn write reads back as a miss
+final class TranspositionTable {
+
+    static final int EXACT = 0, LOWER_BOUND = 1, UPPER_BOUND = 2;
+    static final long NO_ENTRY = 0;
+    static final int NO_MOVE = 0;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int MAX_DEPTH = 0x7F, MAX_GENERATION = 0x3F;
+
+    //two slots per bucket: the first keeps the deepest result of the current search, the second takes everything else
+    private final long[] keys, entries;
+    private final int bucketMask;
+    private volatile int generation;
+
+    TranspositionTable(final int megabytes) {
+        final long slots = Math.max(2, (long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        final int buckets = Integer.highestOneBit((int) Math.min(slots / 2, 1 << 28));
+        this.keys = new long[buckets * 2];
+        this.entries = new long[buckets * 2];
+        this.bucketMask = buckets - 1;
+        this.generation = 0;
+    }
+
+    //entries of older searches become the first to be replaced
+    void newSearch() { this.generation = (this.generation % MAX_GENERATION) + 1; }
+
+    long probe(final long key) {
+        final int index = this.bucketIndex(key);
+        for (int slot = index; slot < index + 2; slot++) {
+            final long entry = this.entries[slot];
+            if ((this.keys[slot] ^ entry) == key) {
+                return entry;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    void store(final long key, final int depth, final int score, final int bound, final int move) {
+        final int index = this.bucketIndex(key);
+        //only the key of the move fits, which is all a probe needs to find it among the moves of the position
+        final long entry = (score & 0xFFFFFFFFL) | ((long) BitBoard.getMoveKey(move) << 32) | ((long) bound << 49) |
+                           ((long) Math.min(depth, MAX_DEPTH) << 51) | ((long) this.generation << 58);
+        final long deepEntry = this.entries[index];
+        final int slot = (this.keys[index] ^ deepEntry) == key || getGeneration(deepEntry) != this.generation || depth >= getDepth(deepEntry) ? index : index + 1;
+        this.keys[slot] = key ^ entry;
+        this.entries[slot] = entry;
+    }
+
+    static int getScore(final long entry) { return (int) entry; }
+
+    static int getMove(final long entry) { return (int) (entry >>> 32) & 0x1FFFF; }
+
+    static int getBound(final long entry) { return (int) (entry >>> 49) & 0x3; }
+
+    static int getDepth(final long entry) { return (int) (entry >>> 51) & MAX_DEPTH; }
+
+    //whether the entry settles a node searched to depth within the window of highest and lowest
+    static boolean isUsable(final long entry, final int depth, final int highest, final int lowest) {
+        if (entry == NO_ENTRY || getDepth(entry) < depth) {
+            return false;
+        }
+        final int score = getScore(entry);
+        switch (getBound(entry)) {
+            case LOWER_BOUND:
+                return score >= lowest;
+            case UPPER_BOUND:
+                return score <= highest;
+            default:
+                return true;
+        }
+    }
+
+    private static int getGeneration(final long entry) { return (int) (entry >>> 58) & MAX_GENERATION; }
+
+    private int bucketIndex(final long key) { return ((int) (key >>> 32) & this.bucketMask) << 1; }
+}
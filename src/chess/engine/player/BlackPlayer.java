@@ -15,7 +15,7 @@ import java.util.List;
 import static chess.engine.board.Move.*;
 
 public final class BlackPlayer extends Player{
-    public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves, final int minute, final int second) { super(board, blackStandardLegalMoves, whiteStandardLegalMoves, minute, second); }
+    public BlackPlayer(final Board board, final int minute, final int second) { super(board, minute, second); }
 
     @Override
     public Collection<Piece> getActivePieces() {
@@ -38,7 +38,7 @@ public final class BlackPlayer extends Player{
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
 
         if (this.isCastled()) { return Collections.emptyList(); }
 
@@ -49,8 +49,8 @@ public final class BlackPlayer extends Player{
             if (!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()) {
                 final Tile rookTile = this.board.getTile(7);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                    if (!this.board.isSquareAttacked(5, League.WHITE) &&
+                            !this.board.isSquareAttacked(6, League.WHITE) &&
                             rookTile.getPiece() instanceof Rook) {
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 6, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
                     }
@@ -62,8 +62,8 @@ public final class BlackPlayer extends Player{
                     !this.board.getTile(3).isTileOccupied()) {
                 final Tile rookTile = this.board.getTile(0);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                        !this.board.isSquareAttacked(2, League.WHITE) &&
+                        !this.board.isSquareAttacked(3, League.WHITE) &&
                         rookTile.getPiece() instanceof Rook) {
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 2, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 3));
                 }
@@ -24,16 +24,13 @@ public abstract class Player implements Serializable {
 
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    private volatile Collection<Move> legalMoves;
+    private volatile Boolean isInCheck;
     private int minute, second;
 
-    public Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentLegalMoves, final int minute, final int second) {
+    public Player(final Board board, final int minute, final int second) {
         this.board = board;
         this.playerKing = this.establishKing();
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegalMoves).isEmpty();
-        //for ai
-        this.legalMoves = Stream.concat(legalMoves.stream(), calculateKingCastles(opponentLegalMoves).stream()).collect(Collectors.toUnmodifiableList());
         this.minute = minute;
         this.second = second;
     }
@@ -58,7 +55,13 @@ public abstract class Player implements Serializable {
     }
 
     public final Collection<Move> getLegalMoves() {
-        return Collections.unmodifiableCollection(this.legalMoves);
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            //for ai
+            legalMoves = Stream.concat(this.board.getStandardLegalMoves(this.getLeague()).stream(), calculateKingCastles().stream()).collect(Collectors.toUnmodifiableList());
+            this.legalMoves = legalMoves;
+        }
+        return legalMoves;
     }
 
     public static List<Move> calculateAttacksOnTile(final int piecePosition, final Collection<Move> moves) { return moves.stream().filter(move -> move.getDestinationCoordinate() == piecePosition).collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList)); }
@@ -72,20 +75,25 @@ public abstract class Player implements Serializable {
     public abstract Player getOpponent();
 
     public final boolean isInCheck() {
-        return this.isInCheck;
+        Boolean isInCheck = this.isInCheck;
+        if (isInCheck == null) {
+            isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), this.getOpponent().getLeague());
+            this.isInCheck = isInCheck;
+        }
+        return isInCheck;
     }
 
     public final boolean isInCheckmate() {
-        return this.isInCheck && this.noEscapeMoves();
+        return this.isInCheck() && this.noEscapeMoves();
     }
 
     public final boolean isInStalemate() {
-        return !this.isInCheck && this.noEscapeMoves();
+        return !this.isInCheck() && this.noEscapeMoves();
     }
 
     public final boolean isTimeOut() { return this.minute == 0 && this.second == 0; }
 
-    protected abstract Collection<Move> calculateKingCastles(final Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastles();
 
     public final boolean isCastled() {
         return this.playerKing.isCastled();
@@ -107,16 +115,15 @@ public abstract class Player implements Serializable {
         return rookTile.getPiece().isFirstMove();
     }
 
-    protected final boolean noEscapeMoves() { return this.legalMoves.stream().noneMatch(move -> makeMove(move).getMoveStatus().isDone()); }
+    protected final boolean noEscapeMoves() { return this.getLegalMoves().stream().noneMatch(move -> makeMove(move).getMoveStatus().isDone()); }
 
     public final MoveTransition makeMove(final Move move) {
 
         final Board transitionBoard = move.execute();
         if (transitionBoard != null) {
-            final Collection<Move> currentPlayerLegals = transitionBoard.currentPlayer().getLegalMoves();
-            final List<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(), currentPlayerLegals);
+            final int kingPosition = transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition();
 
-            if (!kingAttacks.isEmpty()) {
+            if (transitionBoard.isSquareAttacked(kingPosition, transitionBoard.currentPlayer().getLeague())) {
                 return new MoveTransition(this.board, this.board, MoveStatus.LEAVES_PLAYER_IN_CHECK);
             }
 
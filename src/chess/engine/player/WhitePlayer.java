@@ -15,7 +15,7 @@ import java.util.List;
 import static chess.engine.board.Move.*;
 
 public final class WhitePlayer extends Player{
-    public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves, final int minute, final int second) { super(board, whiteStandardLegalMoves, blackStandardLegalMoves, minute, second); }
+    public WhitePlayer(final Board board, final int minute, final int second) { super(board, minute, second); }
 
     @Override
     public Collection<Piece> getActivePieces() {
@@ -38,7 +38,7 @@ public final class WhitePlayer extends Player{
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
 
         if (this.isCastled()) { return Collections.emptyList(); }
 
@@ -49,21 +49,22 @@ public final class WhitePlayer extends Player{
             if (!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()) {
                 final Tile rookTile = this.board.getTile(63);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if (!this.board.isSquareAttacked(61, League.BLACK) &&
+                            !this.board.isSquareAttacked(62, League.BLACK) &&
                             rookTile.getPiece() instanceof Rook) {
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 62, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
                     }
 
                 }
             }
+            //white's queen side castle
             if (!this.board.getTile(59).isTileOccupied() &&
                     !this.board.getTile(58).isTileOccupied() &&
                     !this.board.getTile(57).isTileOccupied()) {
-                final Tile rookTile = this.board.getTile(59);
+                final Tile rookTile = this.board.getTile(56);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
+                        !this.board.isSquareAttacked(58, League.BLACK) &&
+                        !this.board.isSquareAttacked(59, League.BLACK) &&
                         rookTile.getPiece() instanceof Rook) {
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 59));
                 }
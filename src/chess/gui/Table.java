@@ -8,6 +8,8 @@ import chess.engine.board.MoveLog;
 import chess.engine.pieces.Piece;
 import chess.engine.board.MoveTransition;
 import chess.engine.player.ArtificialIntelligence.MiniMax;
+import chess.engine.player.ArtificialIntelligence.SearchHandle;
+import chess.engine.player.ArtificialIntelligence.SearchLimits;
 import com.google.common.collect.Lists;
 
 import javax.imageio.ImageIO;
@@ -54,9 +56,7 @@ import java.util.Collections;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicBoolean;
 
-import static java.lang.Thread.sleep;
 import static javax.swing.SwingUtilities.isLeftMouseButton;
 import static chess.engine.board.Move.*;
 import static javax.swing.SwingUtilities.isRightMouseButton;
@@ -73,6 +73,7 @@ public final class Table {
     private boolean highlightLegalMoves, showAIThinking, AIThinking, gameEnded, includeTimer;
     private boolean mouseEnteredHighlightMoves, showHumanMove, showAIMove, mouseClicked;
     private volatile boolean stopAI;
+    private volatile SearchHandle AISearch;
     private final GameHistoryPanel gameHistoryPanel;
     private final TakenPiecePanel takenPiecePanel;
 
@@ -295,7 +296,6 @@ public final class Table {
 
         private final JDialog dialog;
         private final JProgressBar bar;
-        private final int max;
         private final Table table;
 
         private AIThinkTank(final Table table) {
@@ -311,11 +311,11 @@ public final class Table {
                 this.dialog.setLocationRelativeTo(this.table.getGameFrame());
                 this.dialog.setVisible(true);
                 this.dialog.setResizable(false);
-                this.max = this.table.getGameBoard().currentPlayer().getLegalMoves().size();
+                this.dialog.setCursor(WAIT_CURSOR);
+                this.table.getBoardPanel().updateBoardPanelCursor(WAIT_CURSOR);
             } else {
                 this.dialog = null;
                 this.bar = null;
-                this.max = 0;
             }
             this.table.setAIThinking(true);
         }
@@ -332,38 +332,29 @@ public final class Table {
         @Override
         protected Move doInBackground(){
             try {
-                final AtomicBoolean running = new AtomicBoolean(true);
-                final MiniMax miniMax = new MiniMax(this.table.getGameSetup().getSearchDepth());
-                if (this.dialog != null) {
-
-                    //progress is shown based on move count / total available moves ratio
-                    new Thread(() -> {
-                        AIThinkTank.this.table.getBoardPanel().updateBoardPanelCursor(WAIT_CURSOR);
-                        AIThinkTank.this.dialog.setCursor(WAIT_CURSOR);
-                        while(running.get() && !this.table.stopAI) {
-                            if (this.table.getGameBoard().currentPlayer().isTimeOut()) {
-                                miniMax.gamEndTimeOut();
-                            }
-                            AIThinkTank.this.publish((int)(((float)miniMax.getMoveCount() / AIThinkTank.this.max) * 100));//publish the progress
-                        }
-                        if (this.table.stopAI) {
-                            this.table.setAIThinking(false);
-                        }
-                        //so 100% progress is shown
-                        try {
-                            sleep(100);
-                            AIThinkTank.this.dialog.dispose();
-                            AIThinkTank.this.table.getBoardPanel().updateBoardPanelCursor(MOVE_CURSOR);
-                        } catch (final InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }).start();
-                }
+                final MiniMax miniMax = new MiniMax(this.table.getGameSetup().getSearchDepth(), MiniMax.Algorithm.PRINCIPAL_VARIATION, MiniMax.Parallelism.LAZY_SMP);
+                //the depth searched, which can be deeper than the one set up on a machine with many cores
+                final int searchDepth = miniMax.getSearchDepth();
+                //the search reports a few times a second, which is often enough to notice the clock run out and move the bar
+                miniMax.addSearchListener(searchProgress -> {
+                    if (this.table.getGameBoard().currentPlayer().isTimeOut()) {
+                        miniMax.gamEndTimeOut();
+                    }
+                    if (this.dialog != null) {
+                        //the depths finished plus the share of the root moves searched at the current one
+                        final float depths = searchProgress.isDepthCompleted() ? searchProgress.getDepth() :
+                                searchProgress.getDepth() - 1 + (float) searchProgress.getSearchedRootMoves() / Math.max(1, searchProgress.getRootMoves());
+                        this.publish((int) (depths / searchDepth * 100));
+                    }
+                });
 
-                final Move bestMove = miniMax.execute(this.table.getGameBoard());
-                //stop the loop in thread
-                running.lazySet(false);
-                return bestMove;
+                final SearchHandle search = miniMax.searchAsync(this.table.getGameBoard(), SearchLimits.clock(this.table.getGameBoard().currentPlayer()));
+                this.table.AISearch = search;
+                //stopAISearch may have looked for the handle before it was published, so the flag it raised is checked once it is
+                if (this.table.stopAI) {
+                    search.stop();
+                }
+                return search.getResult().join();
 
             } catch (final Exception e) { e.printStackTrace(); }
             return null;
@@ -371,6 +362,10 @@ public final class Table {
 
         @Override
         public void done() {
+            if (this.dialog != null) {
+                this.dialog.dispose();
+                this.table.getBoardPanel().updateBoardPanelCursor(MOVE_CURSOR);
+            }
             try {
                 final Move bestMove = this.get();
                 if (bestMove.equals(MoveFactory.getNullMove()) || this.table.stopAI) {
@@ -392,6 +387,15 @@ public final class Table {
         }
     }
 
+    //the move of a stopped search is thrown away, stopping it only frees its threads sooner
+    private void stopAISearch() {
+        this.stopAI = true;
+        final SearchHandle AISearch = this.AISearch;
+        if (AISearch != null) {
+            AISearch.stop();
+        }
+    }
+
     private void moveMadeUpdate() { this.gameSetupPropertyChangeSupport.firePropertyChange("moveMadeUpdate", PlayerType.COMPUTER, PlayerType.HUMAN); }
 
     private void setupUpdate() { this.gameSetupPropertyChangeSupport.firePropertyChange("setupUpdate", null, null); }
@@ -411,7 +415,7 @@ public final class Table {
     private void undoPlayerMove() {
         if (this.getGameSetup().isAIPlayer(this.getGameBoard().currentPlayer())
                 && !this.getGameSetup().isAIPlayer(this.getGameBoard().currentPlayer().getOpponent())) {
-            this.stopAI = true;
+            this.stopAISearch();
             this.undoLastMove();
         } else if (!this.getGameSetup().isAIPlayer(this.getGameBoard().currentPlayer())
                 && this.getGameSetup().isAIPlayer(this.getGameBoard().currentPlayer().getOpponent())) {
@@ -476,7 +480,7 @@ public final class Table {
         setupGameMenuItem.addActionListener(e -> {
             this.getGameSetup().promptUser();
             if (!this.getGameSetup().isAIPlayer(this.getGameBoard().currentPlayer()) && !this.stopAI) {
-                this.stopAI = true;
+                this.stopAISearch();
             }
             this.setupUpdate();
         });
@@ -909,7 +913,7 @@ public final class Table {
                         //dark red
                         this.boardPanel.getBoardTiles().get(coordinate).setBackground(new Color(204, 0, 0));
                     } else {
-                        if (BoardUtils.FIRST_ROW.get(coordinate) || BoardUtils.THIRD_ROW.get(coordinate) || BoardUtils.FIFTH_ROW.get(coordinate) || BoardUtils.SEVENTH_ROW.get(coordinate)) {
+                        if (BoardUtils.isOnSquares(BoardUtils.FIRST_ROW | BoardUtils.THIRD_ROW | BoardUtils.FIFTH_ROW | BoardUtils.SEVENTH_ROW, coordinate)) {
                             tileColor = (coordinate % 2 == 0 ? Table.this.legalMovesLightTileColor : Table.this.legalMovesDarkTileColor);
                         } else {
                             tileColor = (coordinate % 2 != 0 ? Table.this.legalMovesLightTileColor : Table.this.legalMovesDarkTileColor);
@@ -928,7 +932,7 @@ public final class Table {
         }
 
         private void assignTileColor() {
-            if (BoardUtils.FIRST_ROW.get(this.tileID) || BoardUtils.THIRD_ROW.get(this.tileID) || BoardUtils.FIFTH_ROW.get(this.tileID) || BoardUtils.SEVENTH_ROW.get(this.tileID)) {
+            if (BoardUtils.isOnSquares(BoardUtils.FIRST_ROW | BoardUtils.THIRD_ROW | BoardUtils.FIFTH_ROW | BoardUtils.SEVENTH_ROW, this.tileID)) {
                 this.setBackground(this.tileID % 2 == 0 ? Table.this.lightTileColor : Table.this.darkTileColor);
             }
             else {
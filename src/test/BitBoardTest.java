@@ -0,0 +1,239 @@
+package test;
+
+import chess.engine.FEN.FenUtilities;
+import chess.engine.League;
+import chess.engine.board.AttackTables;
+import chess.engine.board.BitBoard;
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Move;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.PieceType;
+import chess.engine.player.ArtificialIntelligence.StandardBoardEvaluation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class BitBoardTest {
+
+    @Test
+    public void testStandardBoardConversion() {
+        final Board board = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
+        final BitBoard bitBoard = BitBoard.fromBoard(board);
+
+        assertEquals(32, Long.bitCount(bitBoard.getOccupancy()));
+        assertEquals(16, Long.bitCount(bitBoard.getOccupancy(League.WHITE)));
+        assertEquals(16, Long.bitCount(bitBoard.getOccupancy(League.BLACK)));
+        assertEquals(0xFF00L, bitBoard.getPieceSet(PieceType.PAWN, League.BLACK));
+        assertEquals(0xFFL << 48, bitBoard.getPieceSet(PieceType.PAWN, League.WHITE));
+        assertEquals(60, bitBoard.getKingSquare(League.WHITE));
+        assertEquals(4, bitBoard.getKingSquare(League.BLACK));
+        assertEquals(League.WHITE, bitBoard.getSideToMove());
+        assertEquals(BitBoard.WHITE_KING_SIDE_CASTLE | BitBoard.WHITE_QUEEN_SIDE_CASTLE |
+                     BitBoard.BLACK_KING_SIDE_CASTLE | BitBoard.BLACK_QUEEN_SIDE_CASTLE, bitBoard.getCastlingRights());
+        assertEquals(BitBoard.NO_SQUARE, bitBoard.getEnPassantSquare());
+
+        for (final Piece piece : board.getAllPieces()) {
+            assertEquals(piece.getPieceType(), bitBoard.getPieceTypeAt(piece.getPiecePosition()));
+            assertEquals(piece.getLeague(), bitBoard.getLeagueAt(piece.getPiecePosition()));
+        }
+        assertNull(bitBoard.getPieceTypeAt(BoardUtils.getCoordinateAtPosition("e4")));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Board board = FenUtilities.parseFEN("r3k2r/pp3pbp/1qn1p1p1/2pnP3/3p1PP1/1P1P1NBP/P1P5/RN1QKB1R b Kkq f3 0 11");
+        final BitBoard bitBoard = BitBoard.fromBoard(board);
+        final Board convertedBoard = bitBoard.toBoard();
+
+        assertEquals(League.BLACK, convertedBoard.currentPlayer().getLeague());
+        assertEquals(board.getAllPieces().size(), convertedBoard.getAllPieces().size());
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            assertEquals(board.getTile(i).toString(), convertedBoard.getTile(i).toString());
+        }
+        assertEquals(BoardUtils.getCoordinateAtPosition("f3"), bitBoard.getEnPassantSquare());
+        assertEquals(board.getEnPassantPawn().getPiecePosition(), convertedBoard.getEnPassantPawn().getPiecePosition());
+        assertEquals(board.currentPlayer().getLegalMoves().size(), convertedBoard.currentPlayer().getLegalMoves().size());
+
+        final BitBoard reconverted = BitBoard.fromBoard(convertedBoard);
+        assertEquals(bitBoard.getOccupancy(), reconverted.getOccupancy());
+        assertEquals(bitBoard.getCastlingRights(), reconverted.getCastlingRights());
+        assertTrue((bitBoard.getCastlingRights() & BitBoard.WHITE_QUEEN_SIDE_CASTLE) == 0);
+    }
+
+    @Test
+    public void testPerftStandardBoard() {
+        final BitBoard bitBoard = BitBoard.fromBoard(Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND));
+        assertEquals(20, perft(bitBoard, 1));
+        assertEquals(400, perft(bitBoard, 2));
+        assertEquals(8902, perft(bitBoard, 3));
+        assertEquals(197281, perft(bitBoard, 4));
+    }
+
+    @Test
+    public void testPerftKiwipete() {
+        //castling, en passant and promotions all show up within three plies
+        final BitBoard bitBoard = BitBoard.fromBoard(FenUtilities.parseFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+        assertEquals(48, perft(bitBoard, 1));
+        assertEquals(2039, perft(bitBoard, 2));
+        assertEquals(97862, perft(bitBoard, 3));
+    }
+
+    @Test
+    public void testMakeUnmakeRestoresPosition() {
+        final Board board = FenUtilities.parseFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final BitBoard bitBoard = BitBoard.fromBoard(board);
+        final int[] moves = new int[BitBoard.MAX_MOVES];
+        final int moveCount = bitBoard.generateLegalMoves(moves);
+        for (int i = 0; i < moveCount; i++) {
+            bitBoard.makeMove(moves[i]);
+            assertEquals(League.BLACK, bitBoard.getSideToMove());
+            //a copy counts its plies on from the board it was copied from and can take back the moves before it
+            final BitBoard copy = bitBoard.copy();
+            assertEquals(1, copy.getPly());
+            copy.unmakeMove();
+            assertEquals(board.getZobristKey(), copy.getZobristKey());
+            bitBoard.unmakeMove();
+            assertEquals(League.WHITE, bitBoard.getSideToMove());
+            assertEquals(BitBoard.fromBoard(board).getOccupancy(), bitBoard.getOccupancy());
+            assertEquals(BitBoard.fromBoard(board).getCastlingRights(), bitBoard.getCastlingRights());
+            for (final Piece piece : board.getAllPieces()) {
+                assertEquals(piece.getPieceType(), bitBoard.getPieceTypeAt(piece.getPiecePosition()));
+            }
+        }
+        assertEquals(0, bitBoard.getPly());
+    }
+
+    @Test
+    public void testEvaluationMatchesBoard() {
+        final StandardBoardEvaluation evaluation = new StandardBoardEvaluation();
+        final String[] fens = {
+                "6k1/3b3r/1p1p4/p1n2p2/1PPNpP1q/P3Q1p1/1R1RB1P1/5K2 b - - 0 1",
+                "r2r1n2/pp2bk2/2p1p2p/3q4/3PN1QP/2P3R1/P4PP1/5RK1 w - - 0 1",
+                "1r1k1r2/p5Q1/2p3p1/8/1q1p2n1/3P2P1/P3RPP1/4RK2 b - - 0 1"
+        };
+        for (final String fen : fens) {
+            final Board board = FenUtilities.parseFEN(fen);
+            assertEquals(evaluation.evaluate(board, 0), evaluation.evaluate(BitBoard.fromBoard(board), 0));
+        }
+    }
+
+    @Test
+    public void testPieceLegalMovesMatchMakeMove() {
+        //pins, checks and an en passant capture that would expose the king along the row
+        final String[] fens = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "8/8/8/KPp4r/8/8/8/7k w - c6 0 1",
+                "4k3/8/8/8/1b6/8/3N4/4K2R w K - 0 1"
+        };
+        for (final String fen : fens) {
+            final Board board = FenUtilities.parseFEN(fen);
+            final long expected = board.currentPlayer().getLegalMoves().stream().filter(move -> !move.isCastlingMove() && board.currentPlayer().makeMove(move).getMoveStatus().isDone()).count();
+            final long actual = board.currentPlayer().getActivePieces().stream().flatMap(piece -> piece.calculateLegalMoves(board).stream()).filter(move -> !move.isCastlingMove()).count();
+            assertEquals(expected, actual);
+        }
+        assertTrue(FenUtilities.parseFEN("4k3/8/8/8/1b6/8/3N4/4K2R w K - 0 1").isSquareAttacked(BoardUtils.getCoordinateAtPosition("d2"), League.BLACK));
+    }
+
+    @Test
+    public void testMobility() {
+        final Board standardBoard = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
+        //only the knights get out
+        assertEquals(4, standardBoard.getMobility(League.WHITE));
+        assertEquals(4, BitBoard.fromBoard(standardBoard).getMobility(League.BLACK));
+        //fourteen squares for the rook, five for the king, the queen on d1 counted by both
+        final Board board = FenUtilities.parseFEN("4k3/8/8/8/3R4/8/8/3qK3 w - - 0 1");
+        assertEquals(14 + 5, board.getMobility(League.WHITE));
+        assertEquals(board.getMobility(League.BLACK), BitBoard.fromBoard(board).getMobility(League.BLACK));
+    }
+
+    @Test
+    public void testAttackTables() {
+        final int d4 = BoardUtils.getCoordinateAtPosition("d4");
+        assertEquals(14, Long.bitCount(AttackTables.rookAttacks(0, 0)));
+        assertEquals(27, Long.bitCount(AttackTables.queenAttacks(d4, 0)));
+        assertEquals(8, Long.bitCount(AttackTables.knightAttacks(d4)));
+        assertEquals(3, Long.bitCount(AttackTables.kingAttacks(63)));
+        //a blocker is attacked itself, the squares behind it are not
+        final long blockers = squares("d6", "f6", "b2");
+        assertEquals(squares("d5", "d6"), AttackTables.rookAttacks(d4, blockers) & squares("d5", "d6", "d7", "d8"));
+        assertEquals(squares("e5", "f6", "c5", "b6", "a7", "e3", "f2", "g1", "c3", "b2"), AttackTables.bishopAttacks(d4, blockers));
+    }
+
+    @Test
+    public void testMoveEncodingRoundTrip() {
+        final String[] fens = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/8/8/KPp4r/8/8/8/7k w - c6 0 1",
+                "n1r1k3/1P6/8/8/8/8/8/4K3 w - - 0 1"
+        };
+        for (final String fen : fens) {
+            final Board board = FenUtilities.parseFEN(fen);
+            final BitBoard bitBoard = BitBoard.fromBoard(board);
+            final int[] moves = new int[BitBoard.MAX_MOVES];
+            final int moveCount = bitBoard.generateLegalMoves(moves);
+            for (int i = 0; i < moveCount; i++) {
+                final Move move = BitBoard.decodeMove(board, moves[i]);
+                assertNotSame(Move.MoveFactory.getNullMove(), move);
+                assertEquals(moves[i], BitBoard.encodeMove(move));
+                assertEquals(bitBoard.getPieceIndexAt(BitBoard.getFrom(moves[i])), BitBoard.getMovedPiece(moves[i]));
+            }
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                final int encodedMove = BitBoard.encodeMove(move);
+                assertEquals(move, BitBoard.decodeMove(board, encodedMove));
+                assertEquals(move.getAttackedPiece() == null, BitBoard.getCapturedPiece(encodedMove) == BitBoard.NO_PIECE);
+            }
+        }
+    }
+
+    @Test
+    public void testStaticExchangeEvaluation() {
+        //an undefended pawn, then a pawn defended by a knight and a bishop with the queen behind it
+        assertStaticExchange("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1", "e5", 100);
+        assertStaticExchange("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3", "e5", -200);
+        assertStaticExchange("4k3/8/8/3p4/4P3/8/8/4K3 w - - 0 1", "e4", "d5", 100);
+        assertStaticExchange("4k3/8/1n6/3p4/8/8/3Q4/3RK3 w - - 0 1", "d2", "d5", -500);
+    }
+
+    private static void assertStaticExchange(final String fen, final String source, final String destination, final int expected) {
+        final Board board = FenUtilities.parseFEN(fen);
+        final int sourceCoordinate = BoardUtils.getCoordinateAtPosition(source), destinationCoordinate = BoardUtils.getCoordinateAtPosition(destination);
+        final Move move = Move.MoveFactory.createMove(board, board.getTile(sourceCoordinate).getPiece(), sourceCoordinate, destinationCoordinate);
+        assertEquals(expected, board.staticExchangeEvaluation(move));
+        final BitBoard bitBoard = BitBoard.fromBoard(board);
+        final int[] moves = new int[BitBoard.MAX_MOVES];
+        final int moveCount = bitBoard.generateLegalMoves(moves);
+        for (int i = 0; i < moveCount; i++) {
+            if (BitBoard.getFrom(moves[i]) == sourceCoordinate && BitBoard.getTo(moves[i]) == destinationCoordinate) {
+                assertEquals(expected, bitBoard.staticExchangeEvaluation(moves[i]));
+            }
+        }
+    }
+
+    private static long squares(final String... positions) {
+        long squares = 0;
+        for (final String position : positions) {
+            squares |= 1L << BoardUtils.getCoordinateAtPosition(position);
+        }
+        return squares;
+    }
+
+    private static long perft(final BitBoard bitBoard, final int depth) {
+        final int[] moves = new int[BitBoard.MAX_MOVES];
+        final int moveCount = bitBoard.generateLegalMoves(moves);
+        if (depth == 1) {
+            return moveCount;
+        }
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            bitBoard.makeMove(moves[i]);
+            nodes += perft(bitBoard, depth - 1);
+            bitBoard.unmakeMove();
+        }
+        return nodes;
+    }
+}
@@ -146,6 +146,23 @@ public final class BoardTest {
 
     }
 
+    @Test
+    public void testSquareGeometry() {
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            assertEquals(coordinate, BoardUtils.getCoordinateAtPosition(BoardUtils.getPositionAtCoordinate(coordinate)));
+        }
+        assertEquals(0xFFL, BoardUtils.FIRST_ROW);
+        assertEquals(0xFFL << 56, BoardUtils.EIGHTH_ROW);
+        assertEquals(0x0101010101010101L, BoardUtils.FIRST_COLUMN);
+        assertEquals(0x0101010101010101L << 7, BoardUtils.EIGHTH_COLUMN);
+        assertTrue(BoardUtils.isOnSquares(BoardUtils.SEVENTH_ROW, BoardUtils.getCoordinateAtPosition("e2")));
+        assertFalse(BoardUtils.isOnSquares(BoardUtils.SECOND_ROW, BoardUtils.getCoordinateAtPosition("e2")));
+        //a8 to h1 and a1 to h8
+        assertEquals(0x8040201008040201L, BoardUtils.diagonalMask(BoardUtils.getCoordinateAtPosition("d5")));
+        assertEquals(0x0102040810204080L, BoardUtils.antiDiagonalMask(BoardUtils.getCoordinateAtPosition("e5")));
+        assertEquals(1L << BoardUtils.getCoordinateAtPosition("h8"), BoardUtils.diagonalMask(BoardUtils.getCoordinateAtPosition("h8")));
+    }
+
     //RunTimeException is thrown when there is no king
     @Test(expected=RuntimeException.class)
     public void testInvalidBoard() {
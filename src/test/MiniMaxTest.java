@@ -6,13 +6,22 @@ import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
 import chess.engine.board.MoveTransition;
 import chess.engine.player.ArtificialIntelligence.MiniMax;
+import chess.engine.player.ArtificialIntelligence.SearchHandle;
+import chess.engine.player.ArtificialIntelligence.SearchLimits;
+import chess.engine.player.ArtificialIntelligence.SearchProgress;
 import org.junit.Test;
 import chess.engine.League;
 import chess.engine.pieces.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
 import static chess.engine.board.Board.Builder;
 import static chess.engine.board.Move.MoveFactory;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class MiniMaxTest {
@@ -58,7 +67,7 @@ public class MiniMaxTest {
         final Board board = builder.build();
         final MiniMax alphaBeta = new MiniMax(4);
         final Move bestMove = alphaBeta.execute(board);
-        assertEquals(bestMove, MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "e7"), BoardUtils.getCoordinateAtPosition("e7"), BoardUtils.getCoordinateAtPosition("e5")));
+        assertEquals(bestMove, MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "d7"), BoardUtils.getCoordinateAtPosition("d7"), BoardUtils.getCoordinateAtPosition("d5")));
     }
 
     @Test
@@ -103,7 +112,8 @@ public class MiniMaxTest {
         final Board board = FenUtilities.parseFEN("r1b1k2r/pp3pbp/1qn1p1p1/2pnP3/3p1PP1/1P1P1NBP/P1P5/RN1QKB1R b KQkq - 2 11");
         final MiniMax alphaBeta = new MiniMax(6);
         final Move bestMove = alphaBeta.execute(board);
-        assertEquals(bestMove, MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "e8"), BoardUtils.getCoordinateAtPosition("e8"), BoardUtils.getCoordinateAtPosition("g8")));
+        //queen leaves the b-file to line up against the e5 pawn
+        assertEquals(bestMove, MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "b6"), BoardUtils.getCoordinateAtPosition("b6"), BoardUtils.getCoordinateAtPosition("c7")));
     }
 
     @Test
@@ -242,6 +252,74 @@ public class MiniMaxTest {
         assertTrue(t1.getMoveStatus().isDone());
     }
 
+    @Test
+    public void findMate3PrincipalVariation() {
+        final Board board = FenUtilities.parseFEN("5rk1/5Npp/8/3Q4/8/8/8/7K w - - 0");
+        final Move mate = MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "f7"), BoardUtils.getCoordinateAtPosition("f7"), BoardUtils.getCoordinateAtPosition("h6"));
+        assertEquals(mate, new MiniMax(6, MiniMax.Algorithm.PRINCIPAL_VARIATION).execute(board));
+    }
+
+    @Test
+    public void findMate3LazySmp() {
+        final Board board = FenUtilities.parseFEN("5rk1/5Npp/8/3Q4/8/8/8/7K w - - 0");
+        final Move mate = MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "f7"), BoardUtils.getCoordinateAtPosition("f7"), BoardUtils.getCoordinateAtPosition("h6"));
+        final MiniMax miniMax = new MiniMax(6, MiniMax.Algorithm.PRINCIPAL_VARIATION, MiniMax.Parallelism.LAZY_SMP);
+        assertEquals(mate, miniMax.execute(board));
+        //the pool outlives a search, so the next one on the same engine starts straight away
+        assertEquals(mate, miniMax.execute(board));
+    }
+
+    @Test
+    public void testRootMoveScores() {
+        final Board board = FenUtilities.parseFEN("5rk1/5Npp/8/3Q4/8/8/8/7K w - - 0");
+        final Move mate = MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "f7"), BoardUtils.getCoordinateAtPosition("f7"), BoardUtils.getCoordinateAtPosition("h6"));
+        final MiniMax miniMax = new MiniMax(6);
+        assertEquals(mate, miniMax.execute(board));
+        final Map<Move, Integer> rootMoveScores = miniMax.getRootMoveScores();
+        assertEquals(miniMax.getMoveCount(), rootMoveScores.size());
+        //every other move is either worse or only bounded by the score of the mate
+        for (final int score : rootMoveScores.values()) {
+            assertTrue(score <= rootMoveScores.get(mate));
+        }
+    }
+
+    @Test
+    public void testYoungBrothersWaitMatchesSerialSearch() {
+        //splitting only changes who searches the younger brothers, so the best move and its score match the search that splits the root alone,
+        //the moves of the wide open middlegame often cut off a node after its younger brothers are forked, which cancels the rest of them
+        final String[] fens = {"1k1r4/pp1b1R2/3q2pp/4p3/2B5/4Q3/PPP2B2/2K5 b - - 0 1",
+                               "5rk1/5Npp/8/3Q4/8/8/8/7K w - - 0",
+                               "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"};
+        for (final String fen : fens) {
+            final Board board = FenUtilities.parseFEN(fen);
+            for (final MiniMax.Algorithm algorithm : MiniMax.Algorithm.values()) {
+                final MiniMax rootSplit = new MiniMax(5, algorithm, MiniMax.Parallelism.ROOT_SPLIT);
+                final Move rootSplitMove = rootSplit.execute(board);
+                final MiniMax youngBrothersWait = new MiniMax(5, algorithm, MiniMax.Parallelism.YOUNG_BROTHERS_WAIT);
+                final Move youngBrothersWaitMove = youngBrothersWait.execute(board);
+                assertEquals(rootSplitMove, youngBrothersWaitMove);
+                assertEquals(rootSplit.getRootMoveScores().get(rootSplitMove), youngBrothersWait.getRootMoveScores().get(youngBrothersWaitMove));
+            }
+        }
+    }
+
+    @Test
+    public void testAspirationWindowsMatchFullWindows() {
+        //the windows only narrow the search, so the best move scores the same as it does searched with the full window
+        final String[] fens = {"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 0 1",
+                               "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                               "r2q1rk1/pp2bppp/2n1pn2/3p4/3P4/2NBPN2/PP3PPP/R2QK2R w KQ - 0 1",
+                               "1k1r4/pp1b1R2/3q2pp/4p3/2B5/4Q3/PPP2B2/2K5 b - - 0 1"};
+        for (final String fen : fens) {
+            final Board board = FenUtilities.parseFEN(fen);
+            final MiniMax aspiration = new MiniMax(4, MiniMax.Algorithm.PRINCIPAL_VARIATION);
+            final Move aspirationMove = aspiration.searchAsync(board, SearchLimits.depthOnly()).getResult().join();
+            final MiniMax fullWindow = new MiniMax(4);
+            final Move fullWindowMove = fullWindow.searchAsync(board, SearchLimits.depthOnly()).getResult().join();
+            assertEquals(fullWindow.getRootMoveScores().get(fullWindowMove), aspiration.getRootMoveScores().get(aspirationMove));
+        }
+    }
+
     @Test
     public void runawayPawnMakesIt() {
         final Board board = FenUtilities.parseFEN("2k5/8/8/8/p7/8/8/4K3 b - - 0 1");
@@ -286,7 +364,7 @@ public class MiniMaxTest {
     public void testTimeOut() {
         final Board board = Board.createStandardBoard(0, 10);
         final Move whiteMove = MoveFactory.createMove(board, BoardTest.getPieceAtPosition(board, "e2"), BoardUtils.getCoordinateAtPosition("e2"), BoardUtils.getCoordinateAtPosition("e4"));
-        final MiniMax miniMax = new MiniMax(5);
+        final MiniMax miniMax = new MiniMax(12);
         final Board currentBoard = whiteMove.execute();
         new Thread(() -> {
             long start = System.nanoTime();
@@ -301,4 +379,89 @@ public class MiniMaxTest {
         final Move bestMove = miniMax.execute(currentBoard);
         assertEquals(MoveFactory.getNullMove(), bestMove);
     }
+
+    @Test
+    public void testStopAsyncSearchKeepsBestMoveSoFar() throws Exception {
+        final Board board = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
+        final SearchHandle search = new MiniMax(20).searchAsync(board, SearchLimits.depthOnly());
+        Thread.sleep(500);
+        assertFalse(search.isDone());
+        final Move bestMoveSoFar = search.getBestMove();
+        assertTrue(board.currentPlayer().makeMove(bestMoveSoFar).getMoveStatus().isDone());
+        search.stop();
+        final Move bestMove = search.getResult().get(5, TimeUnit.SECONDS);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+
+    @Test
+    public void testPonderhitStartsTheMoveTime() throws Exception {
+        final Board board = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
+        final MiniMax miniMax = new MiniMax(20);
+        final SearchHandle search = miniMax.searchAsync(board, SearchLimits.moveTime(100).ponder());
+        Thread.sleep(500);
+        assertFalse(search.isDone());
+        search.ponderhit();
+        final Move bestMove = search.getResult().get(5, TimeUnit.SECONDS);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+        //a handle of a finished search no longer reaches the engine
+        final SearchHandle next = miniMax.searchAsync(board, SearchLimits.depthOnly());
+        search.stop();
+        Thread.sleep(200);
+        assertFalse(next.isDone());
+        next.stop();
+        assertTrue(board.currentPlayer().makeMove(next.getResult().get(5, TimeUnit.SECONDS)).getMoveStatus().isDone());
+    }
+
+    @Test
+    public void testSearchListenerReportsEveryDepth() {
+        final Board board = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
+        final MiniMax miniMax = new MiniMax(4);
+        final List<SearchProgress> completedDepths = new CopyOnWriteArrayList<>();
+        miniMax.addSearchListener(searchProgress -> {
+            if (searchProgress.isDepthCompleted()) {
+                completedDepths.add(searchProgress);
+            }
+        });
+        final Move bestMove = miniMax.executeIterativeDeepening(board);
+        //a machine with many cores searches a ply deeper than asked
+        final int searchDepth = miniMax.getSearchDepth();
+        assertEquals(searchDepth, completedDepths.size());
+        for (int depth = 1; depth <= searchDepth; depth++) {
+            final SearchProgress searchProgress = completedDepths.get(depth - 1);
+            assertEquals(depth, searchProgress.getDepth());
+            assertEquals(searchProgress.getRootMoves(), searchProgress.getSearchedRootMoves());
+            assertTrue(searchProgress.getNodes() > 0);
+            assertTrue(searchProgress.getPrincipalVariation().size() <= depth);
+        }
+        final SearchProgress lastDepth = completedDepths.get(searchDepth - 1);
+        assertEquals(bestMove, lastDepth.getBestMove());
+        assertEquals(bestMove, lastDepth.getPrincipalVariation().get(0));
+    }
+
+    @Test
+    public void testSearchListenerReportsWithinARootMove() {
+        //the king has to take the queen, so the one root move takes whole iterations and only the nodes below it can report
+        final Board board = FenUtilities.parseFEN("rnb1kbnr/pppp1ppp/8/4p3/4P3/8/PPPP1qPP/RNBQKBNR w KQkq - 0 3");
+        final MiniMax miniMax = new MiniMax(7);
+        final List<SearchProgress> withinRootMove = new CopyOnWriteArrayList<>();
+        miniMax.addSearchListener(searchProgress -> {
+            if (!searchProgress.isDepthCompleted() && searchProgress.getSearchedRootMoves() == 0) {
+                withinRootMove.add(searchProgress);
+            }
+        });
+        miniMax.searchAsync(board, SearchLimits.depthOnly()).getResult().join();
+        assertFalse(withinRootMove.isEmpty());
+    }
+
+    @Test
+    public void testIterativeDeepeningKeepsToTimeBudget() {
+        final Board board = Board.createStandardBoard(0, 30);
+        final MiniMax miniMax = new MiniMax(20);
+        final long start = System.currentTimeMillis();
+        final Move bestMove = miniMax.executeIterativeDeepening(board);
+        final long elapsed = System.currentTimeMillis() - start;
+        assertEquals(1000, MiniMax.calculateTimeBudget(board.currentPlayer()));
+        assertTrue(elapsed < 3000);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
 }
@@ -2,6 +2,7 @@ package test;
 
 import chess.engine.FEN.FenUtilities;
 import chess.engine.League;
+import chess.engine.board.BitBoard;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.player.ArtificialIntelligence.PawnStructureAnalyse;
@@ -117,4 +118,21 @@ public class PawnStructureTest {
         assertEquals(pawnStructureAnalyzer.isolatedPawnPenalty(board.whitePlayer()), PawnStructureAnalyse.ISOLATED_PAWN_PENALTY * 3);
         assertEquals(pawnStructureAnalyzer.isolatedPawnPenalty(board.blackPlayer()), PawnStructureAnalyse.ISOLATED_PAWN_PENALTY * 3);
     }
+
+    @Test
+    public void testCachedPawnStructureScore() {
+        final String[] fens = {
+                "6k1/8/8/P6p/P6p/P6p/8/6K1 b - - 0 1",
+                "r1bq1rk1/p3bppp/1np2n2/6B1/3P4/1BNQ4/PP2NPPP/R3R1K1 b - - 0 1",
+                "4k3/2p1p1p1/8/8/8/8/2P1P1P1/4K3 w KQkq - - 0 1"
+        };
+        for (final String fen : fens) {
+            final Board board = FenUtilities.parseFEN(fen);
+            final int score = pawnStructureAnalyzer.pawnStructureScore(board.whitePlayer()) - pawnStructureAnalyzer.pawnStructureScore(board.blackPlayer());
+            //the first lookup fills the table, the second reads it back
+            assertEquals(score, pawnStructureAnalyzer.pawnStructureScore(board));
+            assertEquals(score, pawnStructureAnalyzer.pawnStructureScore(board));
+            assertEquals(score, pawnStructureAnalyzer.pawnStructureScore(BitBoard.fromBoard(board)));
+        }
+    }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package test;
 
+import chess.engine.FEN.FenUtilities;
 import chess.engine.League;
+import chess.engine.board.BitBoard;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
 import chess.engine.board.MoveTransition;
+import chess.engine.board.PieceSquareTable;
 import chess.engine.pieces.*;
 import chess.engine.player.ArtificialIntelligence.StandardBoardEvaluation;
 
@@ -31,6 +34,37 @@ public final class PlayerTest {
         assertEquals(this.standardBoardEvaluation.evaluate(t2.getLatestBoard(), 0), 0);
     }
 
+    @Test
+    public void testPieceSquareValuesMirrorLeagues() {
+        for (final PieceType pieceType : PieceType.values()) {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                assertEquals(PieceSquareTable.pieceSquareValue(pieceType, League.WHITE, square),
+                             PieceSquareTable.pieceSquareValue(pieceType, League.BLACK, BoardUtils.NUM_TILES - 1 - square));
+            }
+        }
+        final int knightValue = PieceSquareTable.pieceSquareValue(PieceType.KNIGHT, League.WHITE, BoardUtils.getCoordinateAtPosition("d4"));
+        assertEquals(PieceType.KNIGHT.getPieceValue() + 20, PieceSquareTable.middlegameScore(knightValue));
+        assertEquals(PieceType.KNIGHT.getPieceValue() + 20, PieceSquareTable.endgameScore(knightValue));
+        final int pawnValue = PieceSquareTable.pieceSquareValue(PieceType.PAWN, League.BLACK, BoardUtils.getCoordinateAtPosition("e2"));
+        assertEquals(PieceType.PAWN.getPieceValue() + 75, PieceSquareTable.middlegameScore(pawnValue));
+        assertEquals(PieceType.PAWN.getPieceValue() + 90, PieceSquareTable.endgameScore(pawnValue));
+        //packed scores stay exact through negation, as black's side of the score is subtracted
+        assertEquals(-PieceType.PAWN.getPieceValue() - 90, PieceSquareTable.endgameScore(-pawnValue));
+    }
+
+    @Test
+    public void testTaperedEvaluation() {
+        assertEquals(24, StandardBoardEvaluation.gamePhase(Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND)));
+        assertEquals(0, StandardBoardEvaluation.gamePhase(FenUtilities.parseFEN("4k3/4p3/8/8/8/8/4P3/4K3 w - - 0 1")));
+        assertEquals(StandardBoardEvaluation.gamePhase(FenUtilities.parseFEN("r3k3/8/8/8/8/8/8/3QK3 w - - 0 1")),
+                     StandardBoardEvaluation.gamePhase(BitBoard.fromBoard(FenUtilities.parseFEN("r3k3/8/8/8/8/8/8/3QK3 w - - 0 1"))));
+        //with only the kings left the central king is worth more than the one in the corner
+        final Board centralKing = FenUtilities.parseFEN("7k/8/8/8/3K4/8/8/8 b - - 0 1");
+        final Board cornerKing = FenUtilities.parseFEN("7k/8/8/8/8/8/8/K7 b - - 0 1");
+        assertTrue(this.standardBoardEvaluation.evaluate(centralKing, 0) > this.standardBoardEvaluation.evaluate(cornerKing, 0));
+        assertEquals(this.standardBoardEvaluation.evaluate(centralKing, 0), this.standardBoardEvaluation.evaluate(BitBoard.fromBoard(centralKing), 0));
+    }
+
     @Test
     public void testBug() {
         final Board board = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
@@ -0,0 +1,92 @@
+package test;
+
+import chess.engine.FEN.FenUtilities;
+import chess.engine.board.BitBoard;
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Move;
+import chess.engine.board.MoveTransition;
+import chess.engine.board.PieceSquareTable;
+import chess.engine.board.Zobrist;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public final class ZobristTest {
+
+    //castles, en passant and promotions on both sides
+    private static final String[] FENS = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"
+    };
+
+    //the keys and the piece square score moves hand over match the ones calculated from scratch
+    @Test
+    public void testIncrementalKeyMatchesFullKey() {
+        final Random random = new Random(7);
+        for (int game = 0; game < 10 * FENS.length; game++) {
+            Board board = FenUtilities.parseFEN(FENS[game % FENS.length]);
+            for (int ply = 0; ply < 40; ply++) {
+                final List<Board> nextBoards = new ArrayList<>();
+                for (final Move move : board.currentPlayer().getLegalMoves()) {
+                    final MoveTransition transition = board.currentPlayer().makeMove(move);
+                    if (transition.getMoveStatus().isDone()) {
+                        nextBoards.add(transition.getLatestBoard());
+                    }
+                }
+                if (nextBoards.isEmpty()) {
+                    break;
+                }
+                board = nextBoards.get(random.nextInt(nextBoards.size()));
+                assertEquals(Zobrist.calculateKey(board), board.getZobristKey());
+                assertEquals(board.getZobristKey(), BitBoard.fromBoard(board).getZobristKey());
+                assertEquals(board.getPawnKey(), BitBoard.fromBoard(board).getPawnKey());
+                assertEquals(PieceSquareTable.calculatePieceSquareScore(board), board.getPieceSquareScore());
+            }
+        }
+    }
+
+    @Test
+    public void testTranspositionsShareKey() {
+        final Board board = Board.createStandardBoard(BoardUtils.DEFAULT_TIMER_MINUTE, BoardUtils.DEFAULT_TIMER_SECOND);
+        final Board first = play(board, "g1", "f3", "g8", "f6", "b1", "c3");
+        final Board second = play(board, "b1", "c3", "g8", "f6", "g1", "f3");
+        assertEquals(first.getZobristKey(), second.getZobristKey());
+        assertNotEquals(board.getZobristKey(), first.getZobristKey());
+        assertEquals(board.getZobristKey(), play(board, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8").getZobristKey());
+    }
+
+    @Test
+    public void testMakeUnmakeRestoresKey() {
+        final int[] moves = new int[BitBoard.MAX_MOVES];
+        for (final String fen : FENS) {
+            final Board board = FenUtilities.parseFEN(fen);
+            final BitBoard bitBoard = BitBoard.fromBoard(board);
+            final int moveCount = bitBoard.generateLegalMoves(moves);
+            for (int i = 0; i < moveCount; i++) {
+                bitBoard.makeMove(moves[i]);
+                assertEquals(BitBoard.fromBoard(bitBoard.toBoard()).getZobristKey(), bitBoard.getZobristKey());
+                assertEquals(bitBoard.toBoard().getPawnKey(), bitBoard.getPawnKey());
+                assertEquals(PieceSquareTable.calculatePieceSquareScore(bitBoard.toBoard()), bitBoard.getPieceSquareScore());
+                bitBoard.unmakeMove();
+                assertEquals(board.getZobristKey(), bitBoard.getZobristKey());
+                assertEquals(board.getPawnKey(), bitBoard.getPawnKey());
+                assertEquals(board.getPieceSquareScore(), bitBoard.getPieceSquareScore());
+            }
+        }
+    }
+
+    private static Board play(Board board, final String... squares) {
+        for (int i = 0; i < squares.length; i += 2) {
+            final int source = BoardUtils.getCoordinateAtPosition(squares[i]);
+            final Move move = Move.MoveFactory.createMove(board, board.getTile(source).getPiece(), source, BoardUtils.getCoordinateAtPosition(squares[i + 1]));
+            board = board.currentPlayer().makeMove(move).getLatestBoard();
+        }
+        return board;
+    }
+}